@@ -1,12 +1,15 @@
 import util.DatabaseInitializer;
+import util.StartupTimings;
 
 public class Main {
     public static void main(String[] args) {
-        // Initialize database and create default admin user
+        StartupTimings.mark("main");
+
+        // Database boot runs in the background; the login window does not wait for it
         System.out.println("Initializing database...");
-        DatabaseInitializer.initializeDatabase();
+        DatabaseInitializer.initializeAsync();
 
         // Start the JavaFX application
         Starter.main(args);
     }
-}
\ No newline at end of file
+}
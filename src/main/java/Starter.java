@@ -1,26 +1,43 @@
 import javafx.application.Application;
-import javafx.fxml.FXMLLoader;
-import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.stage.Stage;
+import util.BackgroundExecutor;
+import util.DatabaseInitializer;
+import util.HibernateUtil;
+import util.SceneRouter;
+import util.StartupTimings;
 
 public class Starter extends Application {
 
+    @Override
+    public void init() {
+        // No-op when Main already started it; covers launching Starter directly
+        DatabaseInitializer.initializeAsync();
+    }
+
     @Override
     public void start(Stage primaryStage) throws Exception {
-        FXMLLoader loader = new FXMLLoader(getClass().getResource("/view/login_form.fxml"));
-        Parent root = loader.load();
+        StartupTimings.mark("JavaFX start");
+        SceneRouter.init(primaryStage);
+        SceneRouter.show(SceneRouter.View.LOGIN);
 
-        Scene scene = new Scene(root, 1000, 700); // Set exact size
+        Scene scene = primaryStage.getScene();
+        scene.addPostLayoutPulseListener(new Runnable() {
+            @Override
+            public void run() {
+                scene.removePostLayoutPulseListener(this);
+                StartupTimings.mark("first frame");
+            }
+        });
+    }
 
-        primaryStage.setTitle("Satine - Store Management");
-        primaryStage.setScene(scene);
-        primaryStage.setResizable(false); // Prevent resizing
-        primaryStage.centerOnScreen(); // Center the window
-        primaryStage.show();
+    @Override
+    public void stop() {
+        BackgroundExecutor.shutdown();
+        HibernateUtil.shutdown();
     }
 
     public static void main(String[] args) {
         launch(args);
     }
-}
\ No newline at end of file
+}
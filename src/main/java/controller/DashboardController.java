@@ -2,18 +2,16 @@ package controller;
 
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
-import javafx.scene.Parent;
-import javafx.scene.Scene;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Label;
-import javafx.stage.Stage;
+import dto.DashboardStatsDto;
 import entity.User;
-import service.OrderService;
-import service.ProductService;
+import service.StatsService;
+import util.FxAsync;
+import util.SceneRouter;
 import java.io.IOException;
 
-public class DashboardController {
+public class DashboardController implements SceneRouter.Refreshable {
 
     @FXML private Label lblUsername;
     @FXML private Label lblTotalSales;
@@ -23,8 +21,7 @@ public class DashboardController {
 
     private User currentUser;
 
-    private final OrderService orderService = new OrderService();
-    private final ProductService productService = new ProductService();
+    private final StatsService statsService = new StatsService();
 
     @FXML
     public void initialize() {
@@ -39,160 +36,87 @@ public class DashboardController {
     }
 
     private void loadDashboardData() {
+        // Cards render immediately and fill in from one aggregate query
+        FxAsync.loading(lblTotalSales, lblProductsSold, lblLowStock, lblTotalOrders);
+        FxAsync.then(statsService.getDashboardStatsAsync(), this::showStats);
+    }
+
+    private void showStats(DashboardStatsDto stats) {
         // Total Sales Today
         if (lblTotalSales != null) {
-            Double todaySales = orderService.getTodayTotalSales();
-            lblTotalSales.setText(String.format("$%.2f", todaySales != null ? todaySales : 0.0));
+            lblTotalSales.setText(String.format("$%.2f", stats.getTodaySales()));
         }
 
         // Total Products in Inventory
         if (lblProductsSold != null) {
-            int totalProducts = productService.getAllProducts().size();
-            lblProductsSold.setText(String.valueOf(totalProducts));
+            lblProductsSold.setText(String.valueOf(stats.getProductCount()));
         }
 
         // Low Stock Items (below 10 units)
         if (lblLowStock != null) {
-            int lowStock = productService.getLowStockProducts().size();
-            lblLowStock.setText(String.valueOf(lowStock));
+            lblLowStock.setText(String.valueOf(stats.getLowStockCount()));
         }
 
         // Today's Orders
         if (lblTotalOrders != null) {
-            int todayOrders = orderService.getTodayOrders().size();
-            lblTotalOrders.setText(String.valueOf(todayOrders));
+            lblTotalOrders.setText(String.valueOf(stats.getTodayOrders()));
         }
     }
 
     @FXML
     public void openPOS(ActionEvent event) {
-        try {
-            Stage stage = (Stage) lblUsername.getScene().getWindow();
-            stage.close();
-
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/view/pos_form.fxml"));
-            Parent root = loader.load();
-            Stage posStage = new Stage();
-            posStage.setTitle("Clothify Store - POS");
-            posStage.setScene(new Scene(root));
-            posStage.setMaximized(true);
-            posStage.show();
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+        navigate(SceneRouter.View.POS);
     }
 
     @FXML
     public void openProducts(ActionEvent event) {
-        try {
-            Stage stage = (Stage) lblUsername.getScene().getWindow();
-            stage.close();
-
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/view/products_form.fxml"));
-            Parent root = loader.load();
-            Stage productsStage = new Stage();
-            productsStage.setTitle("Clothify Store - Products");
-            productsStage.setScene(new Scene(root));
-            productsStage.setMaximized(true);
-            productsStage.show();
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+        navigate(SceneRouter.View.PRODUCTS);
+    }
+
+    @FXML
+    public void openOrders(ActionEvent event) {
+        navigate(SceneRouter.View.ORDERS);
     }
 
     @FXML
     public void openReports(ActionEvent event) {
-        try {
-            Stage stage = (Stage) lblUsername.getScene().getWindow();
-            stage.close();
-
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/view/reports_form.fxml"));
-            Parent root = loader.load();
-            Stage reportsStage = new Stage();
-            reportsStage.setTitle("Clothify Store - Reports");
-            reportsStage.setScene(new Scene(root));
-            reportsStage.setMaximized(true);
-            reportsStage.show();
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+        navigate(SceneRouter.View.REPORTS);
     }
 
     @FXML
     public void openSuppliers(ActionEvent event) {
-        try {
-            Stage stage = (Stage) lblUsername.getScene().getWindow();
-            stage.close();
-
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/view/suppliers_form.fxml"));
-            Parent root = loader.load();
-            Stage suppliersStage = new Stage();
-            suppliersStage.setTitle("Satine - Suppliers");
-            suppliersStage.setScene(new Scene(root));
-            suppliersStage.setMaximized(true);
-            suppliersStage.show();
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+        navigate(SceneRouter.View.SUPPLIERS);
     }
 
     @FXML
     public void openEmployees(ActionEvent event) {
-        try {
-            Stage stage = (Stage) lblUsername.getScene().getWindow();
-            stage.close();
-
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/view/employees_form.fxml"));
-            Parent root = loader.load();
-            Stage employeesStage = new Stage();
-            employeesStage.setTitle("Satine - Employees");
-            employeesStage.setScene(new Scene(root));
-            employeesStage.setMaximized(true);
-            employeesStage.show();
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+        navigate(SceneRouter.View.EMPLOYEES);
     }
 
     @FXML
     public void openInventory(ActionEvent event) {
-        try {
-            Stage stage = (Stage) lblUsername.getScene().getWindow();
-            stage.close();
-
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/view/inventory_form.fxml"));
-            Parent root = loader.load();
-            Stage inventoryStage = new Stage();
-            inventoryStage.setTitle("Satine - Inventory");
-            inventoryStage.setScene(new Scene(root));
-            inventoryStage.setMaximized(true);
-            inventoryStage.show();
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+        navigate(SceneRouter.View.INVENTORY);
     }
 
 
-    @FXML
-    public void openOrders(ActionEvent event) {
-        showAlert("Orders", "Orders screen coming soon!");
-    }
-
     @FXML
     public void handleLogout(ActionEvent event) {
-        try {
-            Stage currentStage = (Stage) lblUsername.getScene().getWindow();
-            currentStage.close();
+        navigate(SceneRouter.View.LOGIN);
+        // Screens built for this user are not reused by the next one
+        SceneRouter.clearCache();
+    }
 
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/view/login_form.fxml"));
-            Parent root = loader.load();
-            Stage loginStage = new Stage();
-            loginStage.setTitle("Clothify Store - Login");
-            loginStage.setScene(new Scene(root));
-            loginStage.show();
+    @Override
+    public void refresh() {
+        loadDashboardData();
+    }
 
+    private void navigate(SceneRouter.View view) {
+        try {
+            SceneRouter.show(view);
         } catch (IOException e) {
             e.printStackTrace();
+            showAlert("Error", "Failed to open screen: " + e.getMessage());
         }
     }
 
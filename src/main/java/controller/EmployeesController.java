@@ -1,20 +1,23 @@
 package controller;
 
 import dto.EmployeeDto;
+import event.DomainEvent;
+import event.DomainEventBus;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
-import javafx.scene.Parent;
-import javafx.scene.Scene;
 import javafx.scene.control.*;
-import javafx.stage.Stage;
 import service.EmployeeService;
+import util.FxAsync;
+import util.SceneRouter;
+import util.TableRows;
 
 import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
-public class EmployeesController {
+public class EmployeesController implements SceneRouter.Refreshable {
 
     @FXML private TextField txtName;
     @FXML private TextField txtPosition;
@@ -27,18 +30,26 @@ public class EmployeesController {
 
     private final EmployeeService employeeService = new EmployeeService();
     private EmployeeDto selectedEmployee = null;
+    private TableRows<EmployeeDto> employeeRows;
+    // Everyone, kept current by the change events, so searching never goes back to the database
+    private final Map<Long, EmployeeDto> employeesById = new LinkedHashMap<>();
 
     @FXML
     public void initialize() {
+        employeeRows = TableRows.of(tblEmployees.itemsProperty(), EmployeeDto::getId);
         setupTableColumns(); // ADD THIS
         loadEmployees();
         setupTableActions();
 
         tblEmployees.getSelectionModel().selectedItemProperty().addListener(
                 (obs, oldVal, newVal) -> {
-                    if (newVal != null) fillForm(newVal);
+                    // A live update to the row being edited must not overwrite the form
+                    if (newVal != null && (oldVal == null || !newVal.getId().equals(oldVal.getId()))) fillForm(newVal);
                 }
         );
+
+        DomainEventBus.subscribe(this, DomainEvent.EmployeeChanged.class, EmployeesController::onEmployeeChanged);
+        DomainEventBus.subscribe(this, DomainEvent.EmployeeDeleted.class, EmployeesController::onEmployeeDeleted);
     }
 
     private void setupTableColumns() {
@@ -81,10 +92,13 @@ public class EmployeesController {
     }
 
     private void loadEmployees() {
-        ObservableList<EmployeeDto> employees = FXCollections.observableArrayList(
-                employeeService.getAllEmployees()
-        );
-        tblEmployees.setItems(employees);
+        tblEmployees.setPlaceholder(new Label("Loading..."));
+        FxAsync.then(employeeService.getAllEmployeesAsync(), employees -> {
+            employeesById.clear();
+            employees.forEach(employee -> employeesById.put(employee.getId(), employee));
+            tblEmployees.setPlaceholder(new Label("No content in table"));
+            searchEmployees(null);
+        });
     }
 
     private void setupTableActions() {
@@ -142,22 +156,23 @@ public class EmployeesController {
             return;
         }
 
-        try {
-            if (selectedEmployee == null) {
-                employeeService.addEmployee(dto);
-                showAlert(Alert.AlertType.INFORMATION, "Success", "Employee added successfully!");
-            } else {
-                dto.setId(selectedEmployee.getId());
-                dto.setActive(selectedEmployee.getActive());
-                employeeService.updateEmployee(dto);
-                showAlert(Alert.AlertType.INFORMATION, "Success", "Employee updated successfully!");
-            }
+        boolean isNew = selectedEmployee == null;
+        if (!isNew) {
+            dto.setId(selectedEmployee.getId());
+            dto.setActive(selectedEmployee.getActive());
+            dto.setVersion(selectedEmployee.getVersion());
+        }
 
+        btnSave.setDisable(true);
+        FxAsync.then(isNew ? employeeService.addEmployeeAsync(dto) : employeeService.updateEmployeeAsync(dto), done -> {
+            btnSave.setDisable(false);
+            showAlert(Alert.AlertType.INFORMATION, "Success",
+                    isNew ? "Employee added successfully!" : "Employee updated successfully!");
             clearForm(null);
-            loadEmployees();
-        } catch (Exception e) {
+        }, e -> {
+            btnSave.setDisable(false);
             showAlert(Alert.AlertType.ERROR, "Error", "Failed to save employee: " + e.getMessage());
-        }
+        });
     }
 
     private void deleteEmployee(EmployeeDto employee) {
@@ -166,9 +181,9 @@ public class EmployeesController {
         confirm.setContentText("Delete employee: " + employee.getName() + "?");
 
         if (confirm.showAndWait().get() == ButtonType.OK) {
-            employeeService.deleteEmployee(employee.getId());
-            showAlert(Alert.AlertType.INFORMATION, "Success", "Employee deleted!");
-            loadEmployees();
+            FxAsync.then(employeeService.deleteEmployeeAsync(employee.getId()), done -> {
+                showAlert(Alert.AlertType.INFORMATION, "Success", "Employee deleted!");
+            });
         }
     }
 
@@ -187,33 +202,43 @@ public class EmployeesController {
     @FXML
     public void searchEmployees(ActionEvent event) {
         String query = txtSearch.getText().trim().toLowerCase();
-        if (query.isEmpty()) {
-            loadEmployees();
-            return;
-        }
-
         ObservableList<EmployeeDto> filtered = FXCollections.observableArrayList(
-                employeeService.getAllEmployees().stream()
-                        .filter(e -> e.getName().toLowerCase().contains(query) ||
+                employeesById.values().stream()
+                        .filter(e -> query.isEmpty() || e.getName().toLowerCase().contains(query) ||
                                 e.getPosition().toLowerCase().contains(query))
                         .toList()
         );
         tblEmployees.setItems(filtered);
     }
 
+    private void onEmployeeChanged(DomainEvent.EmployeeChanged event) {
+        employeesById.put(event.employee().getId(), event.employee());
+        // Search results only get rows they already show
+        if (txtSearch.getText().trim().isEmpty()) {
+            employeeRows.upsert(event.employee());
+        } else {
+            employeeRows.replace(event.employee());
+        }
+    }
+
+    private void onEmployeeDeleted(DomainEvent.EmployeeDeleted event) {
+        employeesById.remove(event.employeeId());
+        employeeRows.remove(event.employeeId());
+        if (selectedEmployee != null && selectedEmployee.getId().equals(event.employeeId())) {
+            clearForm(null);
+        }
+    }
+
+    @Override
+    public void refresh() {
+        clearForm(null);
+        loadEmployees();
+    }
+
     @FXML
     public void backToDashboard(ActionEvent event) {
         try {
-            Stage stage = (Stage) txtName.getScene().getWindow();
-            stage.close();
-
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/view/dashboard_form.fxml"));
-            Parent root = loader.load();
-            Stage dashboardStage = new Stage();
-            dashboardStage.setTitle("Satine - Dashboard");
-            dashboardStage.setScene(new Scene(root));
-            dashboardStage.setMaximized(true);
-            dashboardStage.show();
+            SceneRouter.show(SceneRouter.View.DASHBOARD);
         } catch (IOException e) {
             e.printStackTrace();
         }
@@ -1,21 +1,27 @@
 package controller;
 
 import dto.ProductDto;
+import event.DomainEvent;
+import event.DomainEventBus;
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
-import javafx.scene.Parent;
-import javafx.scene.Scene;
 import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
-import javafx.stage.Stage;
 import service.ProductService;
+import util.FxAsync;
+import util.SceneRouter;
+import util.TableCells;
+import util.TableRows;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
-public class InventoryController {
+public class InventoryController implements SceneRouter.Refreshable {
 
     @FXML private Label lblTotalProducts;
     @FXML private Label lblLowStock;
@@ -26,13 +32,20 @@ public class InventoryController {
     @FXML private TableView<ProductDto> tblInventory;
 
     private final ProductService productService = new ProductService();
+    private TableRows<ProductDto> productRows;
+    private boolean statsPending;
 
     @FXML
     public void initialize() {
+        productRows = TableRows.of(tblInventory.itemsProperty(), ProductDto::getId);
         setupFilter();
         setupTableColumns();
         loadInventory();
         updateStats();
+
+        DomainEventBus.subscribe(this, DomainEvent.ProductChanged.class, (c, e) -> c.showProduct(e.product()));
+        DomainEventBus.subscribe(this, DomainEvent.StockAdjusted.class, (c, e) -> c.showProduct(e.product()));
+        DomainEventBus.subscribe(this, DomainEvent.ProductDeleted.class, InventoryController::onProductDeleted);
     }
 
     private void setupFilter() {
@@ -60,61 +73,32 @@ public class InventoryController {
 
         // Total Value column
         TableColumn<ProductDto, Void> valueCol = (TableColumn<ProductDto, Void>) tblInventory.getColumns().get(5);
-        valueCol.setCellFactory(param -> new TableCell<>() {
-            @Override
-            protected void updateItem(Void item, boolean empty) {
-                super.updateItem(item, empty);
-                if (empty) {
-                    setText(null);
-                } else {
-                    ProductDto product = getTableView().getItems().get(getIndex());
-                    double value = product.getPrice() * product.getQuantity();
-                    setText(String.format("$%.2f", value));
-                    setStyle("-fx-text-fill: #10B981; -fx-font-weight: bold;");
-                }
-            }
-        });
+        valueCol.setCellFactory(TableCells.currency(product -> product.getPrice() * product.getQuantity()));
 
         TableColumn<ProductDto, String> supplierCol = (TableColumn<ProductDto, String>) tblInventory.getColumns().get(6);
         supplierCol.setCellValueFactory(new PropertyValueFactory<>("supplier"));
 
         // Status column
         TableColumn<ProductDto, Void> statusCol = (TableColumn<ProductDto, Void>) tblInventory.getColumns().get(7);
-        statusCol.setCellFactory(param -> new TableCell<>() {
-            @Override
-            protected void updateItem(Void item, boolean empty) {
-                super.updateItem(item, empty);
-                if (empty) {
-                    setText(null);
-                    setStyle("");
-                } else {
-                    ProductDto product = getTableView().getItems().get(getIndex());
-                    int qty = product.getQuantity();
-                    if (qty == 0) {
-                        setText("Out of Stock");
-                        setStyle("-fx-text-fill: #EF4444; -fx-font-weight: bold;");
-                    } else if (qty < 10) {
-                        setText("Low Stock");
-                        setStyle("-fx-text-fill: #F59E0B; -fx-font-weight: bold;");
-                    } else {
-                        setText("In Stock");
-                        setStyle("-fx-text-fill: #10B981; -fx-font-weight: bold;");
-                    }
-                }
-            }
-        });
+        statusCol.setCellFactory(TableCells.stockStatus(ProductDto::getQuantity));
     }
 
+    // Reruns the current search, or loads everything when the search box is empty
     private void loadInventory() {
-        ObservableList<ProductDto> products = FXCollections.observableArrayList(
-                productService.getAllProducts()
-        );
-        tblInventory.setItems(products);
+        String query = txtSearch.getText().trim();
+        CompletableFuture<List<ProductDto>> results = query.isEmpty()
+                ? productService.getAllProductsAsync()
+                : productService.searchProductsAsync(query, false);
+        // A late result for an older query must not replace the newer one
+        FxAsync.fill(tblInventory, results, () -> query.equals(txtSearch.getText().trim()));
     }
 
     private void updateStats() {
-        var products = productService.getAllProducts();
+        FxAsync.loading(lblTotalProducts, lblLowStock, lblStockValue, lblOutOfStock);
+        FxAsync.then(productService.getAllProductsAsync(), this::showStats);
+    }
 
+    private void showStats(List<ProductDto> products) {
         lblTotalProducts.setText(String.valueOf(products.size()));
 
         long lowStock = products.stream().filter(p -> p.getQuantity() > 0 && p.getQuantity() < 10).count();
@@ -132,56 +116,118 @@ public class InventoryController {
     @FXML
     public void filterInventory(ActionEvent event) {
         String filter = cmbFilter.getValue();
-        var allProducts = productService.getAllProducts();
-
-        ObservableList<ProductDto> filtered = switch (filter) {
-            case "Low Stock" -> FXCollections.observableArrayList(
-                    allProducts.stream().filter(p -> p.getQuantity() > 0 && p.getQuantity() < 10).toList()
-            );
-            case "Out of Stock" -> FXCollections.observableArrayList(
-                    allProducts.stream().filter(p -> p.getQuantity() == 0).toList()
-            );
-            case "In Stock" -> FXCollections.observableArrayList(
-                    allProducts.stream().filter(p -> p.getQuantity() >= 10).toList()
-            );
-            default -> FXCollections.observableArrayList(allProducts);
-        };
+        FxAsync.then(productService.getAllProductsAsync(), allProducts -> showFiltered(filter, allProducts));
+    }
+
+    private void showFiltered(String filter, List<ProductDto> allProducts) {
+        ObservableList<ProductDto> filtered = FXCollections.observableArrayList(
+                allProducts.stream().filter(p -> matchesFilter(filter, p)).toList()
+        );
 
         tblInventory.setItems(filtered);
     }
 
+    private static boolean matchesFilter(String filter, ProductDto product) {
+        return switch (filter) {
+            case "Low Stock" -> product.getQuantity() > 0 && product.getQuantity() < 10;
+            case "Out of Stock" -> product.getQuantity() == 0;
+            case "In Stock" -> product.getQuantity() >= 10;
+            default -> true;
+        };
+    }
+
+    private void showProduct(ProductDto product) {
+        if (!txtSearch.getText().trim().isEmpty()) {
+            // Search results only get rows they already show
+            productRows.replace(product);
+        } else if (matchesFilter(cmbFilter.getValue(), product)) {
+            productRows.upsert(product);
+        } else {
+            // e.g. sold out while "Low Stock" is shown
+            productRows.remove(product.getId());
+        }
+        scheduleStats();
+    }
+
+    private void onProductDeleted(DomainEvent.ProductDeleted event) {
+        productRows.remove(event.productId());
+        scheduleStats();
+    }
+
+    // A sale publishes one event per line; recount once after the whole batch
+    private void scheduleStats() {
+        if (statsPending) {
+            return;
+        }
+        statsPending = true;
+        Platform.runLater(() -> {
+            statsPending = false;
+            FxAsync.then(productService.getAllProductsAsync(), this::showStats);
+        });
+    }
+
     @FXML
     public void searchInventory(ActionEvent event) {
-        String query = txtSearch.getText().trim().toLowerCase();
-        if (query.isEmpty()) {
-            loadInventory();
+        loadInventory();
+    }
+
+    // A delivery: adds units to the selected product, retried if a sale lands at the same time
+    @FXML
+    public void receiveStock(ActionEvent event) {
+        ProductDto product = tblInventory.getSelectionModel().getSelectedItem();
+        if (product == null) {
+            showAlert(Alert.AlertType.WARNING, "No Selection", "Please select a product to receive stock for");
             return;
         }
 
-        ObservableList<ProductDto> filtered = FXCollections.observableArrayList(
-                productService.getAllProducts().stream()
-                        .filter(p -> p.getName().toLowerCase().contains(query) ||
-                                p.getCategory().toLowerCase().contains(query))
-                        .toList()
-        );
-        tblInventory.setItems(filtered);
+        TextInputDialog dialog = new TextInputDialog();
+        dialog.setTitle("Receive Stock");
+        dialog.setHeaderText(null);
+        dialog.setContentText("Units received for " + product.getName() + ":");
+        Optional<String> input = dialog.showAndWait();
+        if (input.isEmpty()) {
+            return;
+        }
+
+        int units;
+        try {
+            units = Integer.parseInt(input.get().trim());
+        } catch (NumberFormatException e) {
+            units = 0;
+        }
+        if (units <= 0) {
+            showAlert(Alert.AlertType.WARNING, "Validation Error", "Please enter a whole number of units above zero");
+            return;
+        }
+
+        int received = units;
+        // The table row and stats follow from the StockAdjusted event
+        FxAsync.then(productService.adjustStockAsync(product.getId(), received),
+                done -> showAlert(Alert.AlertType.INFORMATION, "Success",
+                        "Received " + received + " units of " + product.getName()),
+                e -> showAlert(Alert.AlertType.ERROR, "Error", "Failed to receive stock: " + e.getMessage()));
+    }
+
+    @Override
+    public void refresh() {
+        loadInventory();
+        updateStats();
     }
 
     @FXML
     public void backToDashboard(ActionEvent event) {
         try {
-            Stage stage = (Stage) txtSearch.getScene().getWindow();
-            stage.close();
-
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/view/dashboard_form.fxml"));
-            Parent root = loader.load();
-            Stage dashboardStage = new Stage();
-            dashboardStage.setTitle("Satine - Dashboard");
-            dashboardStage.setScene(new Scene(root));
-            dashboardStage.setMaximized(true);
-            dashboardStage.show();
+            SceneRouter.show(SceneRouter.View.DASHBOARD);
         } catch (IOException e) {
             e.printStackTrace();
         }
     }
-}
\ No newline at end of file
+
+    private void showAlert(Alert.AlertType type, String title, String message) {
+        Alert alert = new Alert(type);
+        alert.setTitle(title);
+        alert.setHeaderText(null);
+        alert.setContentText(message);
+        alert.showAndWait();
+    }
+}
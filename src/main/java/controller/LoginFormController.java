@@ -2,23 +2,21 @@ package controller;
 
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
-import javafx.scene.Parent;
-import javafx.scene.Scene;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.control.PasswordField;
 import javafx.scene.control.TextField;
-import javafx.stage.Stage;
 import entity.User;
-import util.HibernateUtil;
-import org.hibernate.Session;
-import org.hibernate.query.Query;
-import org.mindrot.jbcrypt.BCrypt;
+import service.AuthService;
+import service.LoginThrottledException;
+import util.DatabaseInitializer;
+import util.FxAsync;
+import util.SceneRouter;
 
 import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
 
-public class LoginFormController {
+public class LoginFormController implements SceneRouter.Refreshable {
 
     @FXML
     private TextField txtUsername;
@@ -32,6 +30,8 @@ public class LoginFormController {
     @FXML
     private Label lblError;
 
+    private final AuthService authService = new AuthService();
+
     @FXML
     public void initialize() {
         System.out.println("Login form initialized");
@@ -52,9 +52,29 @@ public class LoginFormController {
             return;
         }
 
-        // Authenticate user
-        User user = authenticateUser(username, password);
+        btnLogin.setDisable(true);
+        CompletableFuture<Void> ready = DatabaseInitializer.ready();
+        if (!ready.isDone()) {
+            // Still booting: the credentials are checked as soon as the database is up
+            btnLogin.setText("CONNECTING...");
+        }
 
+        CompletableFuture<User> login = ready.thenCompose(done -> authService.authenticateAsync(username, password));
+        FxAsync.then(login, user -> {
+            resetLoginButton();
+            onAuthenticated(user);
+        }, e -> {
+            resetLoginButton();
+            if (e instanceof LoginThrottledException) {
+                showError(e.getMessage());
+                return;
+            }
+            System.err.println("❌ Database unavailable: " + e.getMessage());
+            showError("Cannot connect to the database. Please check the server and restart.");
+        });
+    }
+
+    private void onAuthenticated(User user) {
         if (user != null) {
             if (!user.getActive()) {
                 showError("Your account is inactive. Please contact admin.");
@@ -66,24 +86,10 @@ public class LoginFormController {
             lblError.setVisible(false);
 
             try {
-                // Close login window
-                Stage loginStage = (Stage) btnLogin.getScene().getWindow();
-                loginStage.close();
-
-                // Open dashboard
-                FXMLLoader loader = new FXMLLoader(getClass().getResource("/view/dashboard_form.fxml"));
-                Parent root = loader.load();
-
-                // Pass user data to dashboard controller (optional)
-                DashboardController dashboardController = loader.getController();
+                // Open dashboard in the same window and pass the user along
+                DashboardController dashboardController = SceneRouter.show(SceneRouter.View.DASHBOARD);
                 dashboardController.setCurrentUser(user);
 
-                Stage dashboardStage = new Stage();
-                dashboardStage.setTitle("Clothify Store - Dashboard");
-                dashboardStage.setScene(new Scene(root));
-                dashboardStage.setMaximized(true);  // Add this line
-                dashboardStage.show();
-
             } catch (IOException e) {
                 e.printStackTrace();
                 showError("Error loading dashboard: " + e.getMessage());
@@ -94,36 +100,17 @@ public class LoginFormController {
         }
     }
 
-    private User authenticateUser(String username, String password) {
-        Session session = null;
-        User user = null;
-
-        try {
-            session = HibernateUtil.getSessionFactory().openSession();
-
-            // Query to find user by username
-            Query<User> query = session.createQuery(
-                    "FROM User WHERE username = :username",
-                    User.class
-            );
-            query.setParameter("username", username);
-            user = query.uniqueResult();
-
-            // Check if user exists and password matches
-            if (user != null && BCrypt.checkpw(password, user.getPassword())) {
-                return user;
-            }
-
-        } catch (Exception e) {
-            System.err.println("❌ Authentication error: " + e.getMessage());
-            e.printStackTrace();
-        } finally {
-            if (session != null) {
-                session.close();
-            }
-        }
+    // Back here after a logout: nothing from the previous session stays on screen
+    @Override
+    public void refresh() {
+        txtPassword.clear();
+        lblError.setVisible(false);
+        resetLoginButton();
+    }
 
-        return null;
+    private void resetLoginButton() {
+        btnLogin.setText("LOGIN");
+        btnLogin.setDisable(false);
     }
 
     private void showError(String message) {
@@ -0,0 +1,274 @@
+package controller;
+
+import dto.OrderDto;
+import dto.OrderFilterDto;
+import event.DomainEvent;
+import event.DomainEventBus;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.event.ActionEvent;
+import javafx.fxml.FXML;
+import javafx.geometry.Orientation;
+import javafx.scene.Node;
+import javafx.scene.control.*;
+import javafx.scene.control.cell.PropertyValueFactory;
+import javafx.scene.control.skin.VirtualFlow;
+import service.OrderService;
+import util.FxAsync;
+import util.SceneRouter;
+import util.TableCells;
+import util.TableRows;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+public class OrdersController implements SceneRouter.Refreshable {
+
+    private static final int PAGE_SIZE = 100;
+    // Rows kept in the table; pages scrolled past are dropped and fetched again when scrolled back
+    private static final int MAX_ROWS = 5 * PAGE_SIZE;
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    @FXML private DatePicker dpFrom;
+    @FXML private DatePicker dpTo;
+    @FXML private TextField txtCustomer;
+    @FXML private ComboBox<String> cmbStatus;
+    @FXML private TableView<OrderDto> tblOrders;
+    @FXML private Label lblCount;
+
+    private final OrderService orderService = new OrderService();
+    private final ObservableList<OrderDto> orders = FXCollections.observableArrayList();
+    private final TableRows<OrderDto> orderRows = TableRows.of(orders, OrderDto::getId);
+
+    private OrderFilterDto filter = new OrderFilterDto();
+    private boolean loading;
+    private boolean hasMore = true;
+    // True once pages have been dropped from the top of the window
+    private boolean hasNewer;
+    // Bumped on every new search so late pages from an old search are dropped
+    private int generation;
+
+    @FXML
+    public void initialize() {
+        cmbStatus.setItems(FXCollections.observableArrayList("All", "COMPLETED", "CANCELLED"));
+        cmbStatus.setValue("All");
+
+        setupTableColumns();
+        tblOrders.setItems(orders);
+
+        // Fetch the next page near the bottom, and the dropped one above near the top
+        tblOrders.skinProperty().addListener((obs, oldSkin, newSkin) -> watchScrollBar());
+
+        loadFirstPage();
+
+        DomainEventBus.subscribe(this, DomainEvent.OrderCreated.class, OrdersController::onOrderCreated);
+    }
+
+    private void setupTableColumns() {
+        TableColumn<OrderDto, Long> idCol = (TableColumn<OrderDto, Long>) tblOrders.getColumns().get(0);
+        idCol.setCellValueFactory(new PropertyValueFactory<>("id"));
+
+        TableColumn<OrderDto, LocalDateTime> dateCol =
+                (TableColumn<OrderDto, LocalDateTime>) tblOrders.getColumns().get(1);
+        dateCol.setCellValueFactory(new PropertyValueFactory<>("orderDate"));
+        dateCol.setCellFactory(col -> new TableCell<>() {
+            @Override
+            protected void updateItem(LocalDateTime date, boolean empty) {
+                super.updateItem(date, empty);
+                setText(empty || date == null ? null : DATE_FORMAT.format(date));
+            }
+        });
+
+        TableColumn<OrderDto, String> customerCol = (TableColumn<OrderDto, String>) tblOrders.getColumns().get(2);
+        customerCol.setCellValueFactory(new PropertyValueFactory<>("customerName"));
+
+        TableColumn<OrderDto, String> statusCol = (TableColumn<OrderDto, String>) tblOrders.getColumns().get(3);
+        statusCol.setCellValueFactory(new PropertyValueFactory<>("status"));
+
+        TableColumn<OrderDto, Double> amountCol = (TableColumn<OrderDto, Double>) tblOrders.getColumns().get(4);
+        amountCol.setCellValueFactory(new PropertyValueFactory<>("totalAmount"));
+        amountCol.setCellFactory(TableCells.currency());
+    }
+
+    private void watchScrollBar() {
+        for (Node node : tblOrders.lookupAll(".scroll-bar")) {
+            if (node instanceof ScrollBar bar && bar.getOrientation() == Orientation.VERTICAL) {
+                bar.valueProperty().addListener((obs, oldVal, newVal) -> {
+                    double range = bar.getMax() - bar.getMin();
+                    if (newVal.doubleValue() >= bar.getMin() + range * 0.9) {
+                        loadNextPage();
+                    } else if (newVal.doubleValue() <= bar.getMin() + range * 0.1) {
+                        loadPreviousPage();
+                    }
+                });
+            }
+        }
+    }
+
+    private void loadFirstPage() {
+        generation++;
+        orders.clear();
+        hasMore = true;
+        hasNewer = false;
+        loading = false;
+        tblOrders.setPlaceholder(new Label("Loading..."));
+        loadNextPage();
+    }
+
+    private void loadNextPage() {
+        if (loading || !hasMore) {
+            return;
+        }
+        loading = true;
+
+        int requested = generation;
+        OrderDto last = orders.isEmpty() ? null : orders.get(orders.size() - 1);
+        FxAsync.then(orderService.getOrdersPageAsync(filter, last, PAGE_SIZE), page -> {
+            if (requested != generation) {
+                return;
+            }
+            appendPage(page);
+        }, e -> {
+            loading = false;
+            showAlert(Alert.AlertType.ERROR, "Error", "Failed to load orders: " + e.getMessage());
+        });
+    }
+
+    private void loadPreviousPage() {
+        if (loading || !hasNewer || orders.isEmpty()) {
+            return;
+        }
+        loading = true;
+
+        int requested = generation;
+        FxAsync.then(orderService.getNewerOrdersPageAsync(filter, orders.get(0), PAGE_SIZE), page -> {
+            if (requested != generation) {
+                return;
+            }
+            prependPage(page);
+        }, e -> {
+            loading = false;
+            showAlert(Alert.AlertType.ERROR, "Error", "Failed to load orders: " + e.getMessage());
+        });
+    }
+
+    private void appendPage(List<OrderDto> page) {
+        loading = false;
+        hasMore = page.size() == PAGE_SIZE;
+        int first = firstVisibleRow();
+        orders.addAll(page);
+
+        int excess = orders.size() - MAX_ROWS;
+        if (excess > 0) {
+            orders.remove(0, excess);
+            hasNewer = true;
+            // Keep the rows the user is looking at in place
+            tblOrders.scrollTo(Math.max(0, first - excess));
+        }
+
+        tblOrders.setPlaceholder(new Label("No orders found"));
+        showCount();
+    }
+
+    private void prependPage(List<OrderDto> page) {
+        loading = false;
+        hasNewer = page.size() == PAGE_SIZE;
+        int first = firstVisibleRow();
+        orders.addAll(0, page);
+
+        if (orders.size() > MAX_ROWS) {
+            orders.remove(MAX_ROWS, orders.size());
+            hasMore = true;
+        }
+        tblOrders.scrollTo(first + page.size());
+        showCount();
+    }
+
+    private int firstVisibleRow() {
+        if (tblOrders.lookup(".virtual-flow") instanceof VirtualFlow<?> flow && flow.getFirstVisibleCell() != null) {
+            return Math.max(0, flow.getFirstVisibleCell().getIndex());
+        }
+        return 0;
+    }
+
+    private void showCount() {
+        lblCount.setText("Showing " + orders.size() + (hasMore || hasNewer ? "+" : "") + " orders");
+    }
+
+    // Newest first, so a new sale goes on top; a page fetched after the sale may already hold it.
+    // Once the top has been dropped it is picked up when the user scrolls back there.
+    private void onOrderCreated(DomainEvent.OrderCreated event) {
+        OrderDto order = event.order();
+        if (matchesFilter(order) && !hasNewer && !orderRows.replace(order)) {
+            orders.add(0, order);
+            if (orders.size() > MAX_ROWS) {
+                orders.remove(MAX_ROWS, orders.size());
+                hasMore = true;
+            }
+            showCount();
+        }
+    }
+
+    // Same rules as OrderRepository's page query
+    private boolean matchesFilter(OrderDto order) {
+        LocalDate day = order.getOrderDate().toLocalDate();
+        String customer = filter.getCustomerName();
+        return (filter.getFromDate() == null || !day.isBefore(filter.getFromDate()))
+                && (filter.getToDate() == null || !day.isAfter(filter.getToDate()))
+                && (filter.getStatus() == null || filter.getStatus().equals(order.getStatus()))
+                && (customer == null || customer.isBlank() || (order.getCustomerName() != null
+                && order.getCustomerName().toLowerCase().startsWith(customer.trim().toLowerCase())));
+    }
+
+    @FXML
+    public void searchOrders(ActionEvent event) {
+        if (dpFrom.getValue() != null && dpTo.getValue() != null && dpFrom.getValue().isAfter(dpTo.getValue())) {
+            showAlert(Alert.AlertType.WARNING, "Validation Error", "'From' date must be before 'To' date");
+            return;
+        }
+
+        String status = cmbStatus.getValue();
+        filter = new OrderFilterDto(
+                dpFrom.getValue(),
+                dpTo.getValue(),
+                txtCustomer.getText().trim(),
+                status == null || "All".equals(status) ? null : status
+        );
+        loadFirstPage();
+    }
+
+    @FXML
+    public void clearFilters(ActionEvent event) {
+        dpFrom.setValue(null);
+        dpTo.setValue(null);
+        txtCustomer.clear();
+        cmbStatus.setValue("All");
+        filter = new OrderFilterDto();
+        loadFirstPage();
+    }
+
+    @Override
+    public void refresh() {
+        loadFirstPage();
+    }
+
+    @FXML
+    public void backToDashboard(ActionEvent event) {
+        try {
+            SceneRouter.show(SceneRouter.View.DASHBOARD);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private void showAlert(Alert.AlertType type, String title, String message) {
+        Alert alert = new Alert(type);
+        alert.setTitle(title);
+        alert.setHeaderText(null);
+        alert.setContentText(message);
+        alert.showAndWait();
+    }
+}
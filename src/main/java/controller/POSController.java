@@ -1,41 +1,50 @@
 package controller;
 
-import dto.CartItemDto;
 import dto.OrderDto;
 import dto.ProductDto;
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
+import event.DomainEvent;
+import event.DomainEventBus;
+import javafx.beans.binding.Bindings;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
-import javafx.scene.Parent;
-import javafx.scene.Scene;
+import javafx.scene.Node;
 import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
-import javafx.stage.Stage;
-import service.OrderService;
+import model.Cart;
+import model.CartLine;
+import service.CheckoutService;
+import service.InsufficientStockException;
 import service.ProductService;
+import util.ClockTicker;
+import util.FxAsync;
+import util.SceneRouter;
+import util.TableRows;
+import util.TableCells;
 
 import java.io.IOException;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
-public class POSController {
+public class POSController implements SceneRouter.Refreshable {
 
     @FXML private Label lblDateTime;
     @FXML private TextField txtSearch;
+    @FXML private TextField txtScan;
     @FXML private TableView<ProductDto> tblProducts;
-    @FXML private TableView<CartItemDto> tblCart;
+    @FXML private TableView<CartLine> tblCart;
     @FXML private TextField txtCustomerName;
     @FXML private Label lblTotal;
 
     private final ProductService productService = new ProductService();
-    private final OrderService orderService = new OrderService();
-    private final ObservableList<CartItemDto> cartItems = FXCollections.observableArrayList();
+    private final CheckoutService checkoutService = new CheckoutService();
+    private final Cart cart = new Cart();
+    private TableRows<ProductDto> productRows;
+    // The cart is locked while a checkout runs, so the sale covers exactly what was sent
+    private boolean checkingOut;
 
     @FXML
     public void initialize() {
-        updateDateTime();
+        productRows = TableRows.of(tblProducts.itemsProperty(), ProductDto::getId);
         setupProductTable();
         loadProducts();
         setupCartTable();
@@ -43,8 +52,14 @@ public class POSController {
         // Add "Add to Cart" button to each row
         addButtonToTable();
 
-        // Update datetime every second
-        startDateTimeUpdater();
+        // Shared clock; unsubscribes itself when this window closes
+        ClockTicker.getInstance().subscribe(lblDateTime);
+
+        // Stock shown here follows sales and edits made on any screen
+        DomainEventBus.subscribe(this, DomainEvent.ProductChanged.class, (c, e) -> c.showProduct(e.product()));
+        DomainEventBus.subscribe(this, DomainEvent.StockAdjusted.class, (c, e) -> c.showProduct(e.product()));
+        DomainEventBus.subscribe(this, DomainEvent.ProductDeleted.class,
+                (c, e) -> c.productRows.remove(e.productId()));
     }
 
     private void setupProductTable() {
@@ -61,107 +76,41 @@ public class POSController {
         priceCol.setCellValueFactory(new PropertyValueFactory<>("price"));
         stockCol.setCellValueFactory(new PropertyValueFactory<>("quantity"));
 
-        // Format price column
-        priceCol.setCellFactory(col -> new TableCell<ProductDto, Double>() {
-            @Override
-            protected void updateItem(Double price, boolean empty) {
-                super.updateItem(price, empty);
-                if (empty || price == null) {
-                    setText(null);
-                } else {
-                    setText(String.format("$%.2f", price));
-                }
-            }
-        });
-
-        // Color-code stock column
-        stockCol.setCellFactory(col -> new TableCell<ProductDto, Integer>() {
-            @Override
-            protected void updateItem(Integer stock, boolean empty) {
-                super.updateItem(stock, empty);
-                if (empty || stock == null) {
-                    setText(null);
-                    setStyle("");
-                } else {
-                    setText(String.valueOf(stock));
-                    if (stock < 10) {
-                        setStyle("-fx-text-fill: #EF4444; -fx-font-weight: bold;"); // Red for low stock
-                    } else if (stock < 20) {
-                        setStyle("-fx-text-fill: #F59E0B;"); // Orange for medium stock
-                    } else {
-                        setStyle("-fx-text-fill: #10B981;"); // Green for high stock
-                    }
-                }
-            }
-        });
-    }
-
-    private void updateDateTime() {
-        String dateTime = LocalDateTime.now().format(DateTimeFormatter.ofPattern("MMMM d, yyyy - hh:mm a"));
-        lblDateTime.setText(dateTime);
-    }
-
-    private void startDateTimeUpdater() {
-        // Update date/time every second
-        Thread thread = new Thread(() -> {
-            while (true) {
-                try {
-                    Thread.sleep(1000);
-                    javafx.application.Platform.runLater(this::updateDateTime);
-                } catch (InterruptedException e) {
-                    break;
-                }
-            }
-        });
-        thread.setDaemon(true);
-        thread.start();
+        priceCol.setCellFactory(TableCells.currency());
+        // Color-coded by stock level
+        stockCol.setCellFactory(TableCells.stockLevel());
     }
 
+    // Reruns the current search, or loads everything when the search box is empty
     private void loadProducts() {
-        ObservableList<ProductDto> products = FXCollections.observableArrayList(
-                productService.getAllProducts()
-        );
-        tblProducts.setItems(products);
+        String query = txtSearch.getText().trim();
+        CompletableFuture<List<ProductDto>> results = query.isEmpty()
+                ? productService.getAllProductsAsync()
+                : productService.searchProductsAsync(query, false);
+        // A late result for an older query must not replace the newer one
+        FxAsync.fill(tblProducts, results, () -> query.equals(txtSearch.getText().trim()));
     }
 
     private void setupCartTable() {
-        tblCart.setItems(cartItems);
+        tblCart.setItems(cart.getLines());
+        lblTotal.textProperty().bind(Bindings.createStringBinding(
+                () -> String.format("$%.2f", cart.getTotal()), cart.totalProperty()));
 
         // Setup cart table columns
-        TableColumn<CartItemDto, String> nameCol = (TableColumn<CartItemDto, String>) tblCart.getColumns().get(0);
-        TableColumn<CartItemDto, Integer> qtyCol = (TableColumn<CartItemDto, Integer>) tblCart.getColumns().get(1);
-        TableColumn<CartItemDto, Double> priceCol = (TableColumn<CartItemDto, Double>) tblCart.getColumns().get(2);
-        TableColumn<CartItemDto, Double> totalCol = (TableColumn<CartItemDto, Double>) tblCart.getColumns().get(3);
+        // Quantity and total resolve to the line's observable properties,
+        // so a quantity change redraws only that row
+        TableColumn<CartLine, String> nameCol = (TableColumn<CartLine, String>) tblCart.getColumns().get(0);
+        TableColumn<CartLine, Integer> qtyCol = (TableColumn<CartLine, Integer>) tblCart.getColumns().get(1);
+        TableColumn<CartLine, Double> priceCol = (TableColumn<CartLine, Double>) tblCart.getColumns().get(2);
+        TableColumn<CartLine, Double> totalCol = (TableColumn<CartLine, Double>) tblCart.getColumns().get(3);
 
         nameCol.setCellValueFactory(new PropertyValueFactory<>("name"));
         qtyCol.setCellValueFactory(new PropertyValueFactory<>("quantity"));
         priceCol.setCellValueFactory(new PropertyValueFactory<>("price"));
         totalCol.setCellValueFactory(new PropertyValueFactory<>("total"));
 
-        // Format price columns
-        priceCol.setCellFactory(col -> new TableCell<CartItemDto, Double>() {
-            @Override
-            protected void updateItem(Double price, boolean empty) {
-                super.updateItem(price, empty);
-                if (empty || price == null) {
-                    setText(null);
-                } else {
-                    setText(String.format("$%.2f", price));
-                }
-            }
-        });
-
-        totalCol.setCellFactory(col -> new TableCell<CartItemDto, Double>() {
-            @Override
-            protected void updateItem(Double total, boolean empty) {
-                super.updateItem(total, empty);
-                if (empty || total == null) {
-                    setText(null);
-                } else {
-                    setText(String.format("$%.2f", total));
-                }
-            }
-        });
+        priceCol.setCellFactory(TableCells.currency());
+        totalCol.setCellFactory(TableCells.currency());
     }
 
     private void addButtonToTable() {
@@ -175,9 +124,7 @@ public class POSController {
                     ProductDto product = getTableView().getItems().get(getIndex());
                     addToCart(product);
                 });
-                btn.setStyle("-fx-background-color: linear-gradient(to right, #6366F1, #8B5CF6); " +
-                        "-fx-text-fill: white; -fx-background-radius: 8; " +
-                        "-fx-font-weight: bold; -fx-cursor: hand;");
+                btn.getStyleClass().add("add-to-cart-button");
             }
 
             @Override
@@ -189,64 +136,48 @@ public class POSController {
     }
 
     private void addToCart(ProductDto product) {
+        if (checkingOut) {
+            return;
+        }
         if (product.getQuantity() <= 0) {
             showAlert("Out of Stock", "This product is out of stock!");
             return;
         }
 
-        // Check if product already in cart
-        for (CartItemDto item : cartItems) {
-            if (item.getProductId().equals(product.getId())) {
-                if (item.getQuantity() >= product.getQuantity()) {
-                    showAlert("Not Enough Stock", "Only " + product.getQuantity() + " items available!");
-                    return;
-                }
-                item.setQuantity(item.getQuantity() + 1);
-                item.setTotal(item.getPrice() * item.getQuantity());
-                tblCart.refresh();
-                updateTotal();
-                return;
-            }
+        if (cart.quantityOf(product.getId()) >= product.getQuantity()) {
+            showAlert("Not Enough Stock", "Only " + product.getQuantity() + " items available!");
+            return;
         }
 
-        // Add new item to cart
-        CartItemDto cartItem = new CartItemDto(
-                product.getId(),
-                product.getName(),
-                1,
-                product.getPrice()
-        );
-        cartItems.add(cartItem);
-        updateTotal();
+        cart.add(product.getId(), product.getName(), product.getPrice(), 1);
     }
 
-    private void updateTotal() {
-        double total = cartItems.stream()
-                .mapToDouble(CartItemDto::getTotal)
-                .sum();
-        lblTotal.setText(String.format("$%.2f", total));
+    @FXML
+    public void searchProducts(ActionEvent event) {
+        loadProducts();
     }
 
     @FXML
-    public void searchProducts(ActionEvent event) {
-        String query = txtSearch.getText().trim().toLowerCase();
-        if (query.isEmpty()) {
-            loadProducts();
+    public void scanBarcode(ActionEvent event) {
+        String code = txtScan.getText().trim();
+        txtScan.clear();
+        if (code.isEmpty()) {
             return;
         }
 
-        ObservableList<ProductDto> filtered = FXCollections.observableArrayList(
-                productService.getAllProducts().stream()
-                        .filter(p -> p.getName().toLowerCase().contains(query) ||
-                                p.getCategory().toLowerCase().contains(query))
-                        .toList()
-        );
-        tblProducts.setItems(filtered);
+        // Resolved from the in-memory catalog; a stale one is refreshed in the background, not here
+        ProductDto product = productService.findByBarcode(code);
+        if (product == null) {
+            showAlert("Unknown Barcode", "No product found for barcode " + code);
+            txtScan.requestFocus();
+            return;
+        }
+        addToCart(product);
     }
 
     @FXML
     public void clearCart(ActionEvent event) {
-        if (cartItems.isEmpty()) {
+        if (checkingOut || cart.isEmpty()) {
             return;
         }
 
@@ -256,14 +187,13 @@ public class POSController {
         confirmAlert.setContentText("Clear all items from cart?");
 
         if (confirmAlert.showAndWait().get() == ButtonType.OK) {
-            cartItems.clear();
-            updateTotal();
+            cart.clear();
         }
     }
 
     @FXML
     public void processPayment(ActionEvent event) {
-        if (cartItems.isEmpty()) {
+        if (cart.isEmpty()) {
             showAlert("Empty Cart", "Please add items to cart!");
             return;
         }
@@ -275,35 +205,67 @@ public class POSController {
         }
 
         // Create order
-        double total = cartItems.stream().mapToDouble(CartItemDto::getTotal).sum();
+        double total = cart.getTotal();
         OrderDto orderDto = new OrderDto();
         orderDto.setTotalAmount(total);
         orderDto.setCustomerName(customerName);
 
-        orderService.createOrder(orderDto);
+        // Save order and decrement stock in one transaction, off the FX thread
+        Node source = (Node) event.getSource();
+        source.setDisable(true);
+        setCheckingOut(true);
+        FxAsync.then(checkoutService.checkoutAsync(orderDto, cart.toItems()), done -> {
+            source.setDisable(false);
+            setCheckingOut(false);
+            showAlert("Success", String.format("Sale completed!\nCustomer: %s\nTotal: $%.2f\n\nThank you for your purchase!",
+                    customerName, total));
+            clearCartWithoutConfirmation();
+            txtCustomerName.clear();
+        }, error -> {
+            source.setDisable(false);
+            setCheckingOut(false);
+            if (error instanceof InsufficientStockException) {
+                showAlert("Not Enough Stock", error.getMessage());
+            } else {
+                showAlert("Error", "Failed to complete sale: " + error.getMessage());
+            }
+        });
+    }
 
-        // Update product quantities
-        for (CartItemDto item : cartItems) {
-            ProductDto product = productService.getProductById(item.getProductId());
-            product.setQuantity(product.getQuantity() - item.getQuantity());
-            productService.updateProduct(product);
+    private void showProduct(ProductDto product) {
+        // Search results only get rows they already show
+        if (txtSearch.getText().trim().isEmpty()) {
+            productRows.upsert(product);
+        } else {
+            productRows.replace(product);
         }
+    }
 
-        showAlert("Success", String.format("Sale completed!\nCustomer: %s\nTotal: $%.2f\n\nThank you for your purchase!",
-                customerName, total));
-        clearCartWithoutConfirmation();
-        txtCustomerName.clear();
-        loadProducts();
+    private void setCheckingOut(boolean locked) {
+        checkingOut = locked;
+        txtScan.setDisable(locked);
+        tblProducts.setDisable(locked);
+        tblCart.setDisable(locked);
+        txtCustomerName.setDisable(locked);
     }
 
     private void clearCartWithoutConfirmation() {
-        cartItems.clear();
-        updateTotal();
+        cart.clear();
+    }
+
+    // The cart was discarded when leaving; stock may have changed on other terminals
+    @Override
+    public void refresh() {
+        clearCartWithoutConfirmation();
+        txtSearch.clear();
+        txtCustomerName.clear();
+        loadProducts();
+        ClockTicker.getInstance().subscribe(lblDateTime);
     }
 
     @FXML
     public void backToDashboard(ActionEvent event) {
-        if (!cartItems.isEmpty()) {
+        if (!cart.isEmpty()) {
             Alert confirmAlert = new Alert(Alert.AlertType.CONFIRMATION);
             confirmAlert.setTitle("Confirm");
             confirmAlert.setHeaderText(null);
@@ -315,16 +277,7 @@ public class POSController {
         }
 
         try {
-            Stage stage = (Stage) lblTotal.getScene().getWindow();
-            stage.close();
-
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/view/dashboard_form.fxml"));
-            Parent root = loader.load();
-            Stage dashboardStage = new Stage();
-            dashboardStage.setTitle("SATINE - Dashboard");
-            dashboardStage.setScene(new Scene(root));
-            dashboardStage.setMaximized(true);
-            dashboardStage.show();
+            SceneRouter.show(SceneRouter.View.DASHBOARD);
         } catch (IOException e) {
             e.printStackTrace();
         }
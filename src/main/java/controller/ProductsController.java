@@ -1,39 +1,55 @@
 package controller;
 
 import dto.ProductDto;
+import dto.SupplierDto;
+import event.DomainEvent;
+import event.DomainEventBus;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
 import javafx.geometry.Pos;
-import javafx.scene.Parent;
-import javafx.scene.Scene;
 import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.layout.HBox;
-import javafx.stage.Stage;
+import javafx.util.StringConverter;
 import service.ProductService;
+import service.SupplierService;
+import util.FxAsync;
+import util.SceneRouter;
+import util.TableRows;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
-public class ProductsController {
+public class ProductsController implements SceneRouter.Refreshable {
 
     @FXML private TextField txtName;
     @FXML private ComboBox<String> cmbCategory;
     @FXML private TextField txtPrice;
     @FXML private TextField txtQuantity;
-    @FXML private TextField txtSupplier;
+    @FXML private ComboBox<SupplierDto> cmbSupplier;
+    @FXML private TextField txtBarcode;
     @FXML private TextField txtSearch;
     @FXML private Button btnSave;
     @FXML private TableView<ProductDto> tblProducts;
 
     private final ProductService productService = new ProductService();
+    private final SupplierService supplierService = new SupplierService();
     private ProductDto selectedProduct = null;
+    private TableRows<ProductDto> productRows;
+    private TableRows<SupplierDto> supplierRows;
+    private boolean suppliersLoaded;
+    // The edited product's supplier when it is not in the active list, so saving keeps the link
+    private SupplierDto inactiveSupplier;
 
     @FXML
     public void initialize() {
+        productRows = TableRows.of(tblProducts.itemsProperty(), ProductDto::getId);
+        supplierRows = TableRows.of(cmbSupplier.itemsProperty(), SupplierDto::getId);
         setupCategories();
+        setupSuppliers();
         setupTableColumns();
         loadProducts();
         setupTableActions();
@@ -41,12 +57,20 @@ public class ProductsController {
         // Table selection listener
         tblProducts.getSelectionModel().selectedItemProperty().addListener(
                 (obs, oldVal, newVal) -> {
-                    if (newVal != null) {
+                    // A live update to the row being edited (e.g. a sale) must not overwrite the form
+                    if (newVal != null && (oldVal == null || !newVal.getId().equals(oldVal.getId()))) {
                         fillForm(newVal);
                     }
                 }
         );
 
+        // Rows are patched as products change anywhere in the app
+        DomainEventBus.subscribe(this, DomainEvent.ProductChanged.class, (c, e) -> c.showProduct(e.product()));
+        DomainEventBus.subscribe(this, DomainEvent.StockAdjusted.class, (c, e) -> c.showProduct(e.product()));
+        DomainEventBus.subscribe(this, DomainEvent.ProductDeleted.class, ProductsController::onProductDeleted);
+        DomainEventBus.subscribe(this, DomainEvent.SupplierChanged.class, ProductsController::onSupplierChanged);
+        DomainEventBus.subscribe(this, DomainEvent.SupplierDeleted.class, ProductsController::onSupplierDeleted);
+
         // Real-time search
         txtSearch.textProperty().addListener((obs, oldVal, newVal) -> {
             searchProducts(null);
@@ -60,6 +84,60 @@ public class ProductsController {
         cmbCategory.setItems(categories);
     }
 
+    private void setupSuppliers() {
+        cmbSupplier.setConverter(new StringConverter<>() {
+            @Override
+            public String toString(SupplierDto supplier) {
+                return supplier == null ? "" : supplier.getName();
+            }
+
+            @Override
+            public SupplierDto fromString(String name) {
+                return null;
+            }
+        });
+        loadSuppliers();
+    }
+
+    private void loadSuppliers() {
+        FxAsync.then(supplierService.getAllSuppliersAsync(), suppliers -> {
+            SupplierDto none = new SupplierDto();
+            none.setName("-");
+            ObservableList<SupplierDto> items = FXCollections.observableArrayList(none);
+            suppliers.stream().filter(s -> Boolean.TRUE.equals(s.getActive())).forEach(items::add);
+            inactiveSupplier = null;
+            cmbSupplier.setItems(items);
+            suppliersLoaded = true;
+            // A product picked before the list arrived gets its supplier now
+            selectSupplier(selectedProduct);
+        });
+    }
+
+    private void selectSupplier(ProductDto product) {
+        if (inactiveSupplier != null) {
+            supplierRows.remove(inactiveSupplier.getId());
+            inactiveSupplier = null;
+        }
+        Long supplierId = product == null ? null : product.getSupplierId();
+        if (supplierId == null) {
+            cmbSupplier.setValue(null);
+            return;
+        }
+        SupplierDto supplier = cmbSupplier.getItems().stream()
+                .filter(s -> supplierId.equals(s.getId()))
+                .findFirst()
+                .orElse(null);
+        if (supplier == null) {
+            // Not offered for new links, but an edit must not drop the existing one
+            supplier = new SupplierDto();
+            supplier.setId(supplierId);
+            supplier.setName(product.getSupplier() + (suppliersLoaded ? " (inactive)" : ""));
+            inactiveSupplier = supplier;
+            cmbSupplier.getItems().add(supplier);
+        }
+        cmbSupplier.setValue(supplier);
+    }
+
     private void setupTableColumns() {
         // Get columns and set cell value factories
         TableColumn<ProductDto, Integer> idCol = (TableColumn<ProductDto, Integer>) tblProducts.getColumns().get(0);
@@ -103,11 +181,14 @@ public class ProductsController {
         });
     }
 
+    // Reruns the current search, or loads everything when the search box is empty
     private void loadProducts() {
-        ObservableList<ProductDto> products = FXCollections.observableArrayList(
-                productService.getAllProducts()
-        );
-        tblProducts.setItems(products);
+        String query = txtSearch.getText().trim();
+        CompletableFuture<List<ProductDto>> results = query.isEmpty()
+                ? productService.getAllProductsAsync()
+                : productService.searchProductsAsync(query, true);
+        // Typing triggers a search per keystroke; drop results for stale queries
+        FxAsync.fill(tblProducts, results, () -> query.equals(txtSearch.getText().trim()));
     }
 
     private void setupTableActions() {
@@ -175,7 +256,8 @@ public class ProductsController {
         cmbCategory.setValue(product.getCategory());
         txtPrice.setText(String.valueOf(product.getPrice()));
         txtQuantity.setText(String.valueOf(product.getQuantity()));
-        txtSupplier.setText(product.getSupplier() != null ? product.getSupplier() : "");
+        selectSupplier(product);
+        txtBarcode.setText(product.getBarcode() != null ? product.getBarcode() : "");
         btnSave.setText("Update Product");
     }
 
@@ -191,24 +273,31 @@ public class ProductsController {
         dto.setPrice(Double.parseDouble(txtPrice.getText().trim()));
         dto.setQuantity(Integer.parseInt(txtQuantity.getText().trim()));
 
-        String supplier = txtSupplier.getText().trim();
-        dto.setSupplier(supplier.isEmpty() ? null : supplier);
+        SupplierDto supplier = cmbSupplier.getValue();
+        if (supplier != null && supplier.getId() != null) {
+            dto.setSupplierId(supplier.getId());
+            dto.setSupplier(supplier == inactiveSupplier ? selectedProduct.getSupplier() : supplier.getName());
+        }
 
-        try {
-            if (selectedProduct == null) {
-                productService.addProduct(dto);
-                showAlert(Alert.AlertType.INFORMATION, "Success", "Product added successfully!");
-            } else {
-                dto.setId(selectedProduct.getId());
-                productService.updateProduct(dto);
-                showAlert(Alert.AlertType.INFORMATION, "Success", "Product updated successfully!");
-            }
+        String barcode = txtBarcode.getText().trim();
+        dto.setBarcode(barcode.isEmpty() ? null : barcode);
 
+        boolean isNew = selectedProduct == null;
+        if (!isNew) {
+            dto.setId(selectedProduct.getId());
+            dto.setVersion(selectedProduct.getVersion());
+        }
+
+        btnSave.setDisable(true);
+        FxAsync.then(isNew ? productService.addProductAsync(dto) : productService.updateProductAsync(dto, selectedProduct.getQuantity()), done -> {
+            btnSave.setDisable(false);
+            showAlert(Alert.AlertType.INFORMATION, "Success",
+                    isNew ? "Product added successfully!" : "Product updated successfully!");
             clearForm(null);
-            loadProducts();
-        } catch (Exception e) {
+        }, e -> {
+            btnSave.setDisable(false);
             showAlert(Alert.AlertType.ERROR, "Error", "Failed to save product: " + e.getMessage());
-        }
+        });
     }
 
     private void deleteProduct(ProductDto product) {
@@ -218,19 +307,9 @@ public class ProductsController {
         confirm.setContentText("Are you sure you want to delete this product?\n\n" + product.getName());
 
         if (confirm.showAndWait().get() == ButtonType.OK) {
-            try {
-                productService.deleteProduct(product.getId());
+            FxAsync.then(productService.deleteProductAsync(product.getId()), done -> {
                 showAlert(Alert.AlertType.INFORMATION, "Success", "Product deleted successfully!");
-
-                // Clear form if the deleted product was selected
-                if (selectedProduct != null && selectedProduct.getId().equals(product.getId())) {
-                    clearForm(null);
-                }
-
-                loadProducts();
-            } catch (Exception e) {
-                showAlert(Alert.AlertType.ERROR, "Error", "Failed to delete product: " + e.getMessage());
-            }
+            }, e -> showAlert(Alert.AlertType.ERROR, "Error", "Failed to delete product: " + e.getMessage()));
         }
     }
 
@@ -240,28 +319,16 @@ public class ProductsController {
         cmbCategory.setValue(null);
         txtPrice.clear();
         txtQuantity.clear();
-        txtSupplier.clear();
+        txtBarcode.clear();
         selectedProduct = null;
+        selectSupplier(null);
         btnSave.setText("Add Product");
         tblProducts.getSelectionModel().clearSelection();
     }
 
     @FXML
     public void searchProducts(ActionEvent event) {
-        String query = txtSearch.getText().trim().toLowerCase();
-        if (query.isEmpty()) {
-            loadProducts();
-            return;
-        }
-
-        ObservableList<ProductDto> filtered = FXCollections.observableArrayList(
-                productService.getAllProducts().stream()
-                        .filter(p -> p.getName().toLowerCase().contains(query) ||
-                                p.getCategory().toLowerCase().contains(query) ||
-                                (p.getSupplier() != null && p.getSupplier().toLowerCase().contains(query)))
-                        .toList()
-        );
-        tblProducts.setItems(filtered);
+        loadProducts();
     }
 
     private boolean validateInputs() {
@@ -314,9 +381,76 @@ public class ProductsController {
             return false;
         }
 
+        String barcode = txtBarcode.getText().trim();
+        if (!barcode.isEmpty()) {
+            if (!barcode.matches("\\d{1,18}")) {
+                showAlert(Alert.AlertType.WARNING, "Validation Error", "Barcode must contain only digits (max 18)");
+                txtBarcode.requestFocus();
+                return false;
+            }
+            ProductDto existing = productService.findByBarcode(barcode);
+            if (existing != null && (selectedProduct == null || !existing.getId().equals(selectedProduct.getId()))) {
+                showAlert(Alert.AlertType.WARNING, "Validation Error", "Barcode is already used by " + existing.getName());
+                txtBarcode.requestFocus();
+                return false;
+            }
+        }
+
         return true;
     }
 
+    private void showProduct(ProductDto product) {
+        // Search results only get rows they already show
+        if (txtSearch.getText().trim().isEmpty()) {
+            productRows.upsert(product);
+        } else {
+            productRows.replace(product);
+        }
+    }
+
+    private void onProductDeleted(DomainEvent.ProductDeleted event) {
+        productRows.remove(event.productId());
+        // Clear form if the deleted product was selected
+        if (selectedProduct != null && selectedProduct.getId().equals(event.productId())) {
+            clearForm(null);
+        }
+    }
+
+    private void onSupplierChanged(DomainEvent.SupplierChanged event) {
+        SupplierDto supplier = event.supplier();
+        SupplierDto chosen = cmbSupplier.getValue();
+        boolean wasChosen = chosen != null && supplier.getId().equals(chosen.getId());
+        if (inactiveSupplier != null && supplier.getId().equals(inactiveSupplier.getId())) {
+            supplierRows.remove(supplier.getId());
+            inactiveSupplier = null;
+        }
+        if (Boolean.TRUE.equals(supplier.getActive())) {
+            supplierRows.upsert(supplier);
+        } else {
+            supplierRows.remove(supplier.getId());
+        }
+        // Deactivating (or renaming) the edited product's supplier keeps it selected
+        if (wasChosen && selectedProduct != null && supplier.getId().equals(selectedProduct.getSupplierId())) {
+            ProductDto linked = new ProductDto();
+            linked.setSupplierId(supplier.getId());
+            linked.setSupplier(supplier.getName());
+            selectSupplier(linked);
+        } else if (wasChosen) {
+            cmbSupplier.setValue(Boolean.TRUE.equals(supplier.getActive()) ? supplier : null);
+        }
+    }
+
+    private void onSupplierDeleted(DomainEvent.SupplierDeleted event) {
+        supplierRows.remove(event.supplierId());
+    }
+
+    @Override
+    public void refresh() {
+        clearForm(null);
+        loadSuppliers();
+        loadProducts();
+    }
+
     @FXML
     public void backToDashboard(ActionEvent event) {
         // Warn about unsaved changes
@@ -334,16 +468,7 @@ public class ProductsController {
         }
 
         try {
-            Stage stage = (Stage) txtName.getScene().getWindow();
-            stage.close();
-
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/view/dashboard_form.fxml"));
-            Parent root = loader.load();
-            Stage dashboardStage = new Stage();
-            dashboardStage.setTitle("SATINE - Dashboard");
-            dashboardStage.setScene(new Scene(root));
-            dashboardStage.setMaximized(true);
-            dashboardStage.show();
+            SceneRouter.show(SceneRouter.View.DASHBOARD);
         } catch (IOException e) {
             e.printStackTrace();
             showAlert(Alert.AlertType.ERROR, "Error", "Failed to return to dashboard");
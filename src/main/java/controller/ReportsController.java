@@ -1,23 +1,50 @@
 package controller;
 
+import dto.CacheStatsDto;
 import dto.OrderDto;
+import dto.OrderFilterDto;
+import dto.PoolStatsDto;
 import dto.ProductDto;
+import dto.SalesRollupDto;
+import dto.SqlActionStatsDto;
+import dto.SqlStatementStatsDto;
+import dto.SupplierDto;
+import dto.SupplierStockDto;
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
-import javafx.scene.Parent;
-import javafx.scene.Scene;
 import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
-import javafx.stage.Stage;
+import javafx.stage.DirectoryChooser;
+import javafx.util.StringConverter;
+import service.ExportService;
 import service.OrderService;
 import service.ProductService;
-
+import service.SalesRollupService;
+import service.StatsService;
+import service.SupplierService;
+import util.FxAsync;
+import util.SceneRouter;
+import util.TableCells;
+
+import java.io.File;
 import java.io.IOException;
-
-public class ReportsController {
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+public class ReportsController implements SceneRouter.Refreshable {
+
+    private static final int RECENT_ORDERS_LIMIT = 500;
+    // Named after the limit so it is not mistaken for the full history
+    private static final String RECENT_ORDERS_FILTER = "Latest " + RECENT_ORDERS_LIMIT;
+    private static final int SQL_STATEMENTS_LIMIT = 100;
+    private static final int TREND_DAYS = 30;
+    private static final String TREND_HOURLY = "Today by Hour";
+    private static final String TREND_DAILY = "Last " + TREND_DAYS + " Days";
+    private static final DateTimeFormatter HOUR_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:00");
+    private static final DateTimeFormatter DAY_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
 
     @FXML private Label lblTodaySales;
     @FXML private Label lblTodayOrders;
@@ -27,31 +54,76 @@ public class ReportsController {
 
     @FXML private ComboBox<String> cmbSalesFilter;
     @FXML private TableView<OrderDto> tblSales;
+    @FXML private ComboBox<String> cmbTrendPeriod;
+    @FXML private TableView<SalesRollupDto> tblSalesTrend;
+    @FXML private Button btnRebuildRollups;
     @FXML private TableView<ProductDto> tblLowStock;
+    @FXML private ComboBox<SupplierDto> cmbLowStockSupplier;
     @FXML private TableView<ProductDto> tblInventory;
+    @FXML private TableView<SupplierStockDto> tblSupplierStock;
+    @FXML private TableView<CacheStatsDto> tblCache;
+    @FXML private Label lblPoolStats;
+    @FXML private TableView<SqlActionStatsDto> tblSqlActions;
+    @FXML private TableView<SqlStatementStatsDto> tblSqlStatements;
+    @FXML private Label lblSlowThreshold;
+
+    @FXML private Button btnExport;
+    @FXML private CheckBox chkGzip;
+    @FXML private ProgressBar pbExport;
+    @FXML private Label lblExportStatus;
 
     private final OrderService orderService = new OrderService();
     private final ProductService productService = new ProductService();
+    private final StatsService statsService = new StatsService();
+    private final ExportService exportService = new ExportService();
+    private final SupplierService supplierService = new SupplierService();
+    private final SalesRollupService salesRollupService = new SalesRollupService();
+
+    private DateTimeFormatter trendFormat = HOUR_FORMAT;
 
     @FXML
     public void initialize() {
         // Setup ComboBox
-        cmbSalesFilter.setItems(FXCollections.observableArrayList("Today", "All"));
+        cmbSalesFilter.setItems(FXCollections.observableArrayList("Today", RECENT_ORDERS_FILTER));
         cmbSalesFilter.setValue("Today");
 
         // Setup Sales Table Columns
         setupSalesTableColumns();
 
+        // Setup Sales Trend Table Columns
+        cmbTrendPeriod.setItems(FXCollections.observableArrayList(TREND_HOURLY, TREND_DAILY));
+        cmbTrendPeriod.setValue(TREND_HOURLY);
+        setupSalesTrendTableColumns();
+
         // Setup Low Stock Table Columns
         setupLowStockTableColumns();
 
         // Setup Inventory Table Columns
         setupInventoryTableColumns();
 
+        // Setup Stock by Supplier Table Columns
+        setupSupplierStockTableColumns();
+        setupLowStockSupplierFilter();
+
+        // Setup Cache Table Columns
+        setupCacheTableColumns();
+
+        // Setup SQL Table Columns
+        setupSqlTableColumns();
+
+        refresh();
+    }
+
+    @Override
+    public void refresh() {
         loadSummaryCards();
         loadSalesReport(null);
+        loadSalesTrend(null);
         loadLowStockReport(null);
         loadInventorySummary(null);
+        loadSupplierStock(null);
+        loadCacheStats(null);
+        loadSqlStats(null);
     }
 
     private void setupSalesTableColumns() {
@@ -69,6 +141,33 @@ public class ReportsController {
 
     }
 
+    private void setupSalesTrendTableColumns() {
+        TableColumn<SalesRollupDto, LocalDateTime> periodCol = (TableColumn<SalesRollupDto, LocalDateTime>) tblSalesTrend.getColumns().get(0);
+        periodCol.setCellValueFactory(new PropertyValueFactory<>("periodStart"));
+        periodCol.setCellFactory(col -> new TableCell<>() {
+            @Override
+            protected void updateItem(LocalDateTime period, boolean empty) {
+                super.updateItem(period, empty);
+                setText(empty || period == null ? null : trendFormat.format(period));
+            }
+        });
+
+        TableColumn<SalesRollupDto, Long> ordersCol = (TableColumn<SalesRollupDto, Long>) tblSalesTrend.getColumns().get(1);
+        ordersCol.setCellValueFactory(new PropertyValueFactory<>("orderCount"));
+
+        TableColumn<SalesRollupDto, Double> totalCol = (TableColumn<SalesRollupDto, Double>) tblSalesTrend.getColumns().get(2);
+        totalCol.setCellValueFactory(new PropertyValueFactory<>("totalSales"));
+        totalCol.setCellFactory(TableCells.currency());
+
+        TableColumn<SalesRollupDto, Double> minCol = (TableColumn<SalesRollupDto, Double>) tblSalesTrend.getColumns().get(3);
+        minCol.setCellValueFactory(new PropertyValueFactory<>("minSale"));
+        minCol.setCellFactory(TableCells.currency());
+
+        TableColumn<SalesRollupDto, Double> maxCol = (TableColumn<SalesRollupDto, Double>) tblSalesTrend.getColumns().get(4);
+        maxCol.setCellValueFactory(new PropertyValueFactory<>("maxSale"));
+        maxCol.setCellFactory(TableCells.currency());
+    }
+
     private void setupLowStockTableColumns() {
         TableColumn<ProductDto, Long> idCol = (TableColumn<ProductDto, Long>) tblLowStock.getColumns().get(0);
         idCol.setCellValueFactory(new PropertyValueFactory<>("id"));
@@ -105,97 +204,248 @@ public class ReportsController {
         TableColumn<ProductDto, Double> priceCol = (TableColumn<ProductDto, Double>) tblInventory.getColumns().get(4);
         priceCol.setCellValueFactory(new PropertyValueFactory<>("price"));
 
-        // Total Value column - custom cell factory
+        // Total Value column
         TableColumn<ProductDto, Void> valueCol = (TableColumn<ProductDto, Void>) tblInventory.getColumns().get(5);
-        valueCol.setCellFactory(param -> new TableCell<>() {
+        valueCol.setCellFactory(TableCells.currency(product -> product.getPrice() * product.getQuantity()));
+
+        TableColumn<ProductDto, String> supplierCol = (TableColumn<ProductDto, String>) tblInventory.getColumns().get(6);
+        supplierCol.setCellValueFactory(new PropertyValueFactory<>("supplier"));
+    }
+
+    private void setupSupplierStockTableColumns() {
+        TableColumn<SupplierStockDto, String> supplierCol = (TableColumn<SupplierStockDto, String>) tblSupplierStock.getColumns().get(0);
+        supplierCol.setCellValueFactory(new PropertyValueFactory<>("supplierName"));
+
+        TableColumn<SupplierStockDto, Long> productsCol = (TableColumn<SupplierStockDto, Long>) tblSupplierStock.getColumns().get(1);
+        productsCol.setCellValueFactory(new PropertyValueFactory<>("productCount"));
+
+        TableColumn<SupplierStockDto, Long> unitsCol = (TableColumn<SupplierStockDto, Long>) tblSupplierStock.getColumns().get(2);
+        unitsCol.setCellValueFactory(new PropertyValueFactory<>("units"));
+
+        TableColumn<SupplierStockDto, Double> valueCol = (TableColumn<SupplierStockDto, Double>) tblSupplierStock.getColumns().get(3);
+        valueCol.setCellValueFactory(new PropertyValueFactory<>("stockValue"));
+        valueCol.setCellFactory(TableCells.currency());
+    }
+
+    private void setupLowStockSupplierFilter() {
+        cmbLowStockSupplier.setConverter(new StringConverter<>() {
+            @Override
+            public String toString(SupplierDto supplier) {
+                return supplier == null ? "" : supplier.getName();
+            }
+
             @Override
-            protected void updateItem(Void item, boolean empty) {
-                super.updateItem(item, empty);
-                if (empty) {
-                    setText(null);
-                } else {
-                    ProductDto product = getTableView().getItems().get(getIndex());
-                    double value = product.getPrice() * product.getQuantity();
-                    setText(String.format("$%.2f", value));
-                    setStyle("-fx-text-fill: #5ba3f5; -fx-font-weight: bold;");
-                }
+            public SupplierDto fromString(String name) {
+                return null;
             }
         });
+        FxAsync.then(supplierService.getAllSuppliersAsync(), suppliers -> {
+            SupplierDto all = new SupplierDto();
+            all.setName("All suppliers");
+            cmbLowStockSupplier.getItems().setAll(all);
+            cmbLowStockSupplier.getItems().addAll(suppliers);
+        });
+    }
 
-        TableColumn<ProductDto, String> supplierCol = (TableColumn<ProductDto, String>) tblInventory.getColumns().get(6);
-        supplierCol.setCellValueFactory(new PropertyValueFactory<>("supplier"));
+    private void setupCacheTableColumns() {
+        TableColumn<CacheStatsDto, String> regionCol = (TableColumn<CacheStatsDto, String>) tblCache.getColumns().get(0);
+        regionCol.setCellValueFactory(new PropertyValueFactory<>("region"));
+
+        TableColumn<CacheStatsDto, Long> hitsCol = (TableColumn<CacheStatsDto, Long>) tblCache.getColumns().get(1);
+        hitsCol.setCellValueFactory(new PropertyValueFactory<>("hitCount"));
+
+        TableColumn<CacheStatsDto, Long> missesCol = (TableColumn<CacheStatsDto, Long>) tblCache.getColumns().get(2);
+        missesCol.setCellValueFactory(new PropertyValueFactory<>("missCount"));
+
+        TableColumn<CacheStatsDto, Long> putsCol = (TableColumn<CacheStatsDto, Long>) tblCache.getColumns().get(3);
+        putsCol.setCellValueFactory(new PropertyValueFactory<>("putCount"));
+
+        TableColumn<CacheStatsDto, Double> ratioCol = (TableColumn<CacheStatsDto, Double>) tblCache.getColumns().get(4);
+        ratioCol.setCellValueFactory(new PropertyValueFactory<>("hitRatio"));
+        ratioCol.setCellFactory(TableCells.percent());
     }
 
-    private void loadSummaryCards() {
-        // Today's Sales
-        Double todaySales = orderService.getTodayTotalSales();
-        lblTodaySales.setText(String.format("$%.2f", todaySales != null ? todaySales : 0.0));
+    private void setupSqlTableColumns() {
+        TableColumn<SqlActionStatsDto, String> actionCol = (TableColumn<SqlActionStatsDto, String>) tblSqlActions.getColumns().get(0);
+        actionCol.setCellValueFactory(new PropertyValueFactory<>("action"));
 
-        // Today's Orders
-        int todayOrders = orderService.getTodayOrders().size();
-        lblTodayOrders.setText(todayOrders + " Orders");
+        TableColumn<SqlActionStatsDto, Long> statementsCol = (TableColumn<SqlActionStatsDto, Long>) tblSqlActions.getColumns().get(1);
+        statementsCol.setCellValueFactory(new PropertyValueFactory<>("statementCount"));
 
-        // Total Products
-        int totalProducts = productService.getAllProducts().size();
-        lblTotalProducts.setText(String.valueOf(totalProducts));
+        TableColumn<SqlActionStatsDto, Long> executionsCol = (TableColumn<SqlActionStatsDto, Long>) tblSqlActions.getColumns().get(2);
+        executionsCol.setCellValueFactory(new PropertyValueFactory<>("executionCount"));
 
-        // Low Stock Count
-        int lowStockCount = productService.getLowStockProducts().size();
-        lblLowStockCount.setText(String.valueOf(lowStockCount));
+        TableColumn<SqlActionStatsDto, Double> totalCol = (TableColumn<SqlActionStatsDto, Double>) tblSqlActions.getColumns().get(3);
+        totalCol.setCellValueFactory(new PropertyValueFactory<>("totalMillis"));
+        totalCol.setCellFactory(TableCells.decimal(2));
 
-        // Inventory Value
-        double inventoryValue = productService.getAllProducts().stream()
-                .mapToDouble(p -> p.getPrice() * p.getQuantity())
-                .sum();
-        lblInventoryValue.setText(String.format("$%.2f", inventoryValue));
+        TableColumn<SqlActionStatsDto, Long> slowCol = (TableColumn<SqlActionStatsDto, Long>) tblSqlActions.getColumns().get(4);
+        slowCol.setCellValueFactory(new PropertyValueFactory<>("slowCount"));
+
+        TableColumn<SqlStatementStatsDto, String> sqlCol = (TableColumn<SqlStatementStatsDto, String>) tblSqlStatements.getColumns().get(0);
+        sqlCol.setCellValueFactory(new PropertyValueFactory<>("sql"));
+
+        TableColumn<SqlStatementStatsDto, Long> countCol = (TableColumn<SqlStatementStatsDto, Long>) tblSqlStatements.getColumns().get(1);
+        countCol.setCellValueFactory(new PropertyValueFactory<>("count"));
+
+        TableColumn<SqlStatementStatsDto, Double> avgCol = (TableColumn<SqlStatementStatsDto, Double>) tblSqlStatements.getColumns().get(2);
+        avgCol.setCellValueFactory(new PropertyValueFactory<>("averageMillis"));
+        avgCol.setCellFactory(TableCells.decimal(2));
+
+        TableColumn<SqlStatementStatsDto, Double> p95Col = (TableColumn<SqlStatementStatsDto, Double>) tblSqlStatements.getColumns().get(3);
+        p95Col.setCellValueFactory(new PropertyValueFactory<>("p95Millis"));
+        p95Col.setCellFactory(TableCells.decimal(2));
+
+        TableColumn<SqlStatementStatsDto, Double> maxCol = (TableColumn<SqlStatementStatsDto, Double>) tblSqlStatements.getColumns().get(4);
+        maxCol.setCellValueFactory(new PropertyValueFactory<>("maxMillis"));
+        maxCol.setCellFactory(TableCells.decimal(2));
+    }
+
+    private void loadSummaryCards() {
+        FxAsync.loading(lblTodaySales, lblTodayOrders, lblTotalProducts, lblLowStockCount, lblInventoryValue);
+
+        // All cards come from one aggregate round-trip
+        FxAsync.then(statsService.getDashboardStatsAsync(), stats -> {
+            lblTodaySales.setText(String.format("$%.2f", stats.getTodaySales()));
+            lblTodayOrders.setText(stats.getTodayOrders() + " Orders");
+            lblTotalProducts.setText(String.valueOf(stats.getProductCount()));
+            lblLowStockCount.setText(String.valueOf(stats.getLowStockCount()));
+            lblInventoryValue.setText(String.format("$%.2f", stats.getInventoryValue()));
+        });
     }
 
     @FXML
     public void loadSalesReport(ActionEvent event) {
         String filter = cmbSalesFilter.getValue();
-        ObservableList<OrderDto> orders;
 
         if ("Today".equals(filter)) {
-            orders = FXCollections.observableArrayList(orderService.getTodayOrders());
+            FxAsync.fill(tblSales, orderService.getTodayOrdersAsync());
+        } else {
+            // Most recent orders only; the full history is paged on the Orders screen
+            FxAsync.fill(tblSales, orderService.getOrdersPageAsync(new OrderFilterDto(), null, RECENT_ORDERS_LIMIT));
+        }
+    }
+
+    // Read from the rollup tables, so the cost does not grow with the order history
+    @FXML
+    public void loadSalesTrend(ActionEvent event) {
+        if (TREND_DAILY.equals(cmbTrendPeriod.getValue())) {
+            LocalDate tomorrow = LocalDate.now().plusDays(1);
+            trendFormat = DAY_FORMAT;
+            FxAsync.fill(tblSalesTrend, salesRollupService.getDailySalesAsync(tomorrow.minusDays(TREND_DAYS), tomorrow));
         } else {
-            orders = FXCollections.observableArrayList(orderService.getAllOrders());
+            LocalDateTime today = LocalDate.now().atStartOfDay();
+            trendFormat = HOUR_FORMAT;
+            FxAsync.fill(tblSalesTrend, salesRollupService.getHourlySalesAsync(today, today.plusDays(1)));
+        }
+    }
+
+    @FXML
+    public void rebuildSalesRollups(ActionEvent event) {
+        Alert confirm = new Alert(Alert.AlertType.CONFIRMATION);
+        confirm.setTitle("Rebuild Sales Rollups");
+        confirm.setHeaderText(null);
+        confirm.setContentText("Recompute the hourly and daily sales totals from all orders?");
+
+        if (confirm.showAndWait().get() != ButtonType.OK) {
+            return;
         }
 
-        tblSales.setItems(orders);
+        btnRebuildRollups.setDisable(true);
+        FxAsync.then(salesRollupService.rebuildAsync(), done -> {
+            btnRebuildRollups.setDisable(false);
+            loadSalesTrend(null);
+        }, e -> {
+            btnRebuildRollups.setDisable(false);
+            showAlert(Alert.AlertType.ERROR, "Rebuild Failed", "Failed to rebuild sales rollups: " + e.getMessage());
+        });
     }
 
     @FXML
     public void loadLowStockReport(ActionEvent event) {
-        ObservableList<ProductDto> lowStockProducts = FXCollections.observableArrayList(
-                productService.getLowStockProducts()
-        );
-        tblLowStock.setItems(lowStockProducts);
+        SupplierDto supplier = cmbLowStockSupplier.getValue();
+        if (supplier == null || supplier.getId() == null) {
+            FxAsync.fill(tblLowStock, productService.getLowStockProductsAsync());
+        } else {
+            FxAsync.fill(tblLowStock, productService.getLowStockProductsBySupplierAsync(supplier.getId()));
+        }
     }
 
     @FXML
     public void loadInventorySummary(ActionEvent event) {
-        ObservableList<ProductDto> products = FXCollections.observableArrayList(
-                productService.getAllProducts()
-        );
-        tblInventory.setItems(products);
+        FxAsync.fill(tblInventory, productService.getAllProductsAsync());
+    }
+
+    @FXML
+    public void loadSupplierStock(ActionEvent event) {
+        FxAsync.fill(tblSupplierStock, productService.getStockBySupplierAsync());
+    }
+
+    @FXML
+    public void loadCacheStats(ActionEvent event) {
+        FxAsync.fill(tblCache, statsService.getCacheStatsAsync());
+
+        PoolStatsDto pool = statsService.getPoolStats();
+        lblPoolStats.setText(String.format(
+                "Connections: %d active, %d idle, %d waiting · acquire avg %.2f ms, max %.1f ms · %d timeouts",
+                pool.getActiveConnections(), pool.getIdleConnections(), pool.getWaitingThreads(),
+                pool.getAverageAcquireMillis(), pool.getMaxAcquireMillis(), pool.getTimeoutCount()));
+    }
+
+    @FXML
+    public void loadSqlStats(ActionEvent event) {
+        tblSqlActions.setItems(FXCollections.observableArrayList(statsService.getSqlActionStats()));
+        tblSqlStatements.setItems(FXCollections.observableArrayList(statsService.getSqlStatementStats(SQL_STATEMENTS_LIMIT)));
+        lblSlowThreshold.setText(String.format("Slow query threshold: %d ms · lock conflicts: %d (%d retried, %d failed)",
+                statsService.getSlowQueryThresholdMillis(), statsService.getOptimisticConflictCount(),
+                statsService.getOptimisticRetryCount(), statsService.getOptimisticFailureCount()));
     }
 
+    @FXML
+    public void exportCsv(ActionEvent event) {
+        DirectoryChooser chooser = new DirectoryChooser();
+        chooser.setTitle("Export CSV To");
+        File directory = chooser.showDialog(btnExport.getScene().getWindow());
+        if (directory == null) {
+            return;
+        }
+
+        btnExport.setDisable(true);
+        pbExport.setVisible(true);
+        pbExport.setProgress(0);
+
+        // Progress arrives on the export thread; hop to the FX thread to display it
+        ExportService.ProgressListener listener = (dataset, written, total) -> Platform.runLater(() -> {
+            pbExport.setProgress(total == 0 ? 1 : (double) written / total);
+            lblExportStatus.setText(String.format("Exporting %s: %,d / %,d", dataset, written, total));
+        });
+
+        FxAsync.then(exportService.exportAllAsync(directory.toPath(), chkGzip.isSelected(), listener), done -> {
+            btnExport.setDisable(false);
+            pbExport.setVisible(false);
+            lblExportStatus.setText("Exported to " + directory.getAbsolutePath());
+        }, e -> {
+            btnExport.setDisable(false);
+            pbExport.setVisible(false);
+            lblExportStatus.setText("");
+            showAlert(Alert.AlertType.ERROR, "Export Failed", "Failed to export CSV: " + e.getMessage());
+        });
+    }
 
     @FXML
     public void backToDashboard(ActionEvent event) {
         try {
-            Stage stage = (Stage) lblTodaySales.getScene().getWindow();
-            stage.close();
-
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/view/dashboard_form.fxml"));
-            Parent root = loader.load();
-            Stage dashboardStage = new Stage();
-            dashboardStage.setTitle("Clothify Store - Dashboard");
-            dashboardStage.setScene(new Scene(root));
-            dashboardStage.setMaximized(true);
-            dashboardStage.show();
+            SceneRouter.show(SceneRouter.View.DASHBOARD);
         } catch (IOException e) {
             e.printStackTrace();
         }
     }
-}
\ No newline at end of file
+
+    private void showAlert(Alert.AlertType type, String title, String message) {
+        Alert alert = new Alert(type);
+        alert.setTitle(title);
+        alert.setHeaderText(null);
+        alert.setContentText(message);
+        alert.showAndWait();
+    }
+}
@@ -1,21 +1,22 @@
 package controller;
 
 import dto.SupplierDto;
+import event.DomainEvent;
+import event.DomainEventBus;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
-import javafx.scene.Parent;
-import javafx.scene.Scene;
 import javafx.scene.control.*;
-import javafx.stage.Stage;
 import service.SupplierService;
+import util.FxAsync;
+import util.SceneRouter;
+import util.TableRows;
 import javafx.scene.control.cell.PropertyValueFactory;
 
 import java.io.IOException;
 
-public class SuppliersController {
+public class SuppliersController implements SceneRouter.Refreshable {
 
     @FXML private TextField txtName;
     @FXML private TextField txtEmail;
@@ -27,18 +28,24 @@ public class SuppliersController {
 
     private final SupplierService supplierService = new SupplierService();
     private SupplierDto selectedSupplier = null;
+    private TableRows<SupplierDto> supplierRows;
 
     @FXML
     public void initialize() {
+        supplierRows = TableRows.of(tblSuppliers.itemsProperty(), SupplierDto::getId);
         setupTableColumns();
         loadSuppliers();
         setupTableActions();
 
         tblSuppliers.getSelectionModel().selectedItemProperty().addListener(
                 (obs, oldVal, newVal) -> {
-                    if (newVal != null) fillForm(newVal);
+                    // A live update to the row being edited must not overwrite the form
+                    if (newVal != null && (oldVal == null || !newVal.getId().equals(oldVal.getId()))) fillForm(newVal);
                 }
         );
+
+        DomainEventBus.subscribe(this, DomainEvent.SupplierChanged.class, SuppliersController::onSupplierChanged);
+        DomainEventBus.subscribe(this, DomainEvent.SupplierDeleted.class, SuppliersController::onSupplierDeleted);
     }
 
     private void setupTableColumns() {
@@ -59,10 +66,7 @@ public class SuppliersController {
     }
 
     private void loadSuppliers() {
-        ObservableList<SupplierDto> suppliers = FXCollections.observableArrayList(
-                supplierService.getAllSuppliers()
-        );
-        tblSuppliers.setItems(suppliers);
+        FxAsync.fill(tblSuppliers, supplierService.getAllSuppliersAsync());
     }
 
     private void setupTableActions() {
@@ -110,22 +114,23 @@ public class SuppliersController {
         dto.setPhone(txtPhone.getText().trim());
         dto.setAddress(txtAddress.getText().trim());
 
-        try {
-            if (selectedSupplier == null) {
-                supplierService.addSupplier(dto);
-                showAlert(Alert.AlertType.INFORMATION, "Success", "Supplier added successfully!");
-            } else {
-                dto.setId(selectedSupplier.getId());
-                dto.setActive(selectedSupplier.getActive());
-                supplierService.updateSupplier(dto);
-                showAlert(Alert.AlertType.INFORMATION, "Success", "Supplier updated successfully!");
-            }
+        boolean isNew = selectedSupplier == null;
+        if (!isNew) {
+            dto.setId(selectedSupplier.getId());
+            dto.setActive(selectedSupplier.getActive());
+            dto.setVersion(selectedSupplier.getVersion());
+        }
 
+        btnSave.setDisable(true);
+        FxAsync.then(isNew ? supplierService.addSupplierAsync(dto) : supplierService.updateSupplierAsync(dto), done -> {
+            btnSave.setDisable(false);
+            showAlert(Alert.AlertType.INFORMATION, "Success",
+                    isNew ? "Supplier added successfully!" : "Supplier updated successfully!");
             clearForm(null);
-            loadSuppliers();
-        } catch (Exception e) {
+        }, e -> {
+            btnSave.setDisable(false);
             showAlert(Alert.AlertType.ERROR, "Error", "Failed to save supplier: " + e.getMessage());
-        }
+        });
     }
 
     private void deleteSupplier(SupplierDto supplier) {
@@ -134,9 +139,9 @@ public class SuppliersController {
         confirm.setContentText("Delete supplier: " + supplier.getName() + "?");
 
         if (confirm.showAndWait().get() == ButtonType.OK) {
-            supplierService.deleteSupplier(supplier.getId());
-            showAlert(Alert.AlertType.INFORMATION, "Success", "Supplier deleted!");
-            loadSuppliers();
+            FxAsync.then(supplierService.deleteSupplierAsync(supplier.getId()), done -> {
+                showAlert(Alert.AlertType.INFORMATION, "Success", "Supplier deleted!");
+            });
         }
     }
 
@@ -159,28 +164,43 @@ public class SuppliersController {
             return;
         }
 
-        ObservableList<SupplierDto> filtered = FXCollections.observableArrayList(
-                supplierService.getAllSuppliers().stream()
-                        .filter(s -> s.getName().toLowerCase().contains(query) ||
-                                (s.getEmail() != null && s.getEmail().toLowerCase().contains(query)))
-                        .toList()
-        );
-        tblSuppliers.setItems(filtered);
+        FxAsync.then(supplierService.getAllSuppliersAsync(), suppliers -> {
+            ObservableList<SupplierDto> filtered = FXCollections.observableArrayList(
+                    suppliers.stream()
+                            .filter(s -> s.getName().toLowerCase().contains(query) ||
+                                    (s.getEmail() != null && s.getEmail().toLowerCase().contains(query)))
+                            .toList()
+            );
+            tblSuppliers.setItems(filtered);
+        });
+    }
+
+    private void onSupplierChanged(DomainEvent.SupplierChanged event) {
+        // Search results only get rows they already show
+        if (txtSearch.getText().trim().isEmpty()) {
+            supplierRows.upsert(event.supplier());
+        } else {
+            supplierRows.replace(event.supplier());
+        }
+    }
+
+    private void onSupplierDeleted(DomainEvent.SupplierDeleted event) {
+        supplierRows.remove(event.supplierId());
+        if (selectedSupplier != null && selectedSupplier.getId().equals(event.supplierId())) {
+            clearForm(null);
+        }
+    }
+
+    @Override
+    public void refresh() {
+        clearForm(null);
+        loadSuppliers();
     }
 
     @FXML
     public void backToDashboard(ActionEvent event) {
         try {
-            Stage stage = (Stage) txtName.getScene().getWindow();
-            stage.close();
-
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/view/dashboard_form.fxml"));
-            Parent root = loader.load();
-            Stage dashboardStage = new Stage();
-            dashboardStage.setTitle("Satine - Dashboard");
-            dashboardStage.setScene(new Scene(root));
-            dashboardStage.setMaximized(true);
-            dashboardStage.show();
+            SceneRouter.show(SceneRouter.View.DASHBOARD);
         } catch (IOException e) {
             e.printStackTrace();
         }
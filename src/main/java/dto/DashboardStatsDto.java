@@ -0,0 +1,16 @@
+package dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DashboardStatsDto {
+    private Double todaySales;
+    private Long todayOrders;
+    private Long productCount;
+    private Long lowStockCount;
+    private Double inventoryValue;
+}
@@ -15,4 +15,5 @@ public class EmployeeDto {
     private String phone;
     private Double salary;
     private Boolean active;
-}
\ No newline at end of file
+    private Long version;
+}
@@ -0,0 +1,16 @@
+package dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderFilterDto {
+    private LocalDate fromDate;
+    private LocalDate toDate;
+    private String customerName;
+    private String status;
+}
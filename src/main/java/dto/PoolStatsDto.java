@@ -0,0 +1,18 @@
+package dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PoolStatsDto {
+    private Integer activeConnections;
+    private Integer idleConnections;
+    private Integer waitingThreads;
+    private Integer totalConnections;
+    private Double averageAcquireMillis;
+    private Double maxAcquireMillis;
+    private Long timeoutCount;
+}
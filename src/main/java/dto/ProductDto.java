@@ -13,5 +13,8 @@ public class ProductDto {
     private String category;
     private Double price;
     private Integer quantity;
+    private Long supplierId;
     private String supplier;
-}
\ No newline at end of file
+    private String barcode;
+    private Long version;
+}
@@ -0,0 +1,17 @@
+package dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalesRollupDto {
+    private LocalDateTime periodStart;
+    private Long orderCount;
+    private Double totalSales;
+    private Double minSale;
+    private Double maxSale;
+}
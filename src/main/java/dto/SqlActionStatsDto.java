@@ -0,0 +1,16 @@
+package dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SqlActionStatsDto {
+    private String action;
+    private Long statementCount;
+    private Long executionCount;
+    private Double totalMillis;
+    private Long slowCount;
+}
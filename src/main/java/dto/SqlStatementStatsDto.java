@@ -0,0 +1,16 @@
+package dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SqlStatementStatsDto {
+    private String sql;
+    private Long count;
+    private Double averageMillis;
+    private Double p95Millis;
+    private Double maxMillis;
+}
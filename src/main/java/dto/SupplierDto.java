@@ -14,4 +14,5 @@ public class SupplierDto {
     private String phone;
     private String address;
     private Boolean active;
-}
\ No newline at end of file
+    private Long version;
+}
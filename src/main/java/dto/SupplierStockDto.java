@@ -0,0 +1,16 @@
+package dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SupplierStockDto {
+    private Long supplierId;
+    private String supplierName;
+    private Long productCount;
+    private Long units;
+    private Double stockValue;
+}
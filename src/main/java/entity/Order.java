@@ -3,17 +3,30 @@ package entity;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "orders")
+// InnoDB appends the primary key to every secondary index, so these also
+// serve the (orderDate, id) keyset order used by the orders browser
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_order_date", columnList = "orderDate"),
+        @Index(name = "idx_orders_status_date", columnList = "status, orderDate"),
+        @Index(name = "idx_orders_customer_date", columnList = "customerName, orderDate")
+})
 public class Order {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "order_id")
+    @TableGenerator(name = "order_id", table = "id_generators",
+            pkColumnName = "gen_name", valueColumnName = "gen_value",
+            pkColumnValue = "orders", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -27,4 +40,14 @@ public class Order {
 
     @Column(length = 20)
     private String status;
+
+    @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private List<OrderItem> items = new ArrayList<>();
+
+    public void addItem(OrderItem item) {
+        item.setOrder(this);
+        items.add(item);
+    }
 }
\ No newline at end of file
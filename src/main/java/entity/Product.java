@@ -1,18 +1,32 @@
 package entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "products")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@Table(name = "products", indexes = {
+        @Index(name = "idx_products_name", columnList = "name"),
+        @Index(name = "idx_products_category", columnList = "category"),
+        @Index(name = "idx_products_quantity", columnList = "quantity"),
+        @Index(name = "idx_products_supplier_quantity", columnList = "supplier_id, quantity")
+})
 public class Product {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "product_id")
+    @TableGenerator(name = "product_id", table = "id_generators",
+            pkColumnName = "gen_name", valueColumnName = "gen_value",
+            pkColumnValue = "products", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 100)
@@ -27,6 +41,16 @@ public class Product {
     @Column(nullable = false)
     private Integer quantity;
 
-    @Column(length = 100)
-    private String supplier;
-}
\ No newline at end of file
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "supplier_id", foreignKey = @ForeignKey(name = "fk_products_supplier"))
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Supplier supplier;
+
+    @Column(unique = true, length = 32)
+    private String barcode;
+
+    // Optimistic lock: an update from a stale copy fails instead of silently overwriting
+    @Version
+    private Long version;
+}
@@ -0,0 +1,29 @@
+package entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "sales_rollup_daily")
+public class SalesRollupDaily {
+    @Id
+    private LocalDate bucketDate;
+
+    @Column(nullable = false)
+    private Long orderCount;
+
+    @Column(nullable = false)
+    private Double totalSales;
+
+    @Column(nullable = false)
+    private Double minSale;
+
+    @Column(nullable = false)
+    private Double maxSale;
+}
@@ -0,0 +1,29 @@
+package entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "sales_rollup_hourly")
+public class SalesRollupHourly {
+    @Id
+    private LocalDateTime bucketStart;
+
+    @Column(nullable = false)
+    private Long orderCount;
+
+    @Column(nullable = false)
+    private Double totalSales;
+
+    @Column(nullable = false)
+    private Double minSale;
+
+    @Column(nullable = false)
+    private Double maxSale;
+}
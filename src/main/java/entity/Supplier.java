@@ -1,6 +1,9 @@
 package entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -9,6 +12,10 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+// Lazy supplier references on a page of products are fetched with one IN query
+@BatchSize(size = 50)
 @Table(name = "suppliers")
 public class Supplier {
     @Id
@@ -29,4 +36,7 @@ public class Supplier {
 
     @Column(nullable = false)
     private Boolean active = true;
-}
\ No newline at end of file
+
+    @Version
+    private Long version;
+}
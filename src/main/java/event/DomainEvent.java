@@ -0,0 +1,41 @@
+package event;
+
+import dto.EmployeeDto;
+import dto.OrderDto;
+import dto.ProductDto;
+import dto.SupplierDto;
+
+/**
+ * A committed change to the store's data, published by the services through
+ * {@link DomainEventBus} so open screens can patch the affected rows instead
+ * of reloading. DTOs carried by events are shared with every subscriber and
+ * must be treated as read-only.
+ */
+public sealed interface DomainEvent {
+
+    // Added or edited; carries the row as it now is
+    record ProductChanged(ProductDto product) implements DomainEvent {
+    }
+
+    record ProductDeleted(Long productId) implements DomainEvent {
+    }
+
+    // Quantity changed by a sale or a stock adjustment; delta is negative for units taken out
+    record StockAdjusted(ProductDto product, int delta) implements DomainEvent {
+    }
+
+    record OrderCreated(OrderDto order) implements DomainEvent {
+    }
+
+    record EmployeeChanged(EmployeeDto employee) implements DomainEvent {
+    }
+
+    record EmployeeDeleted(Long employeeId) implements DomainEvent {
+    }
+
+    record SupplierChanged(SupplierDto supplier) implements DomainEvent {
+    }
+
+    record SupplierDeleted(Long supplierId) implements DomainEvent {
+    }
+}
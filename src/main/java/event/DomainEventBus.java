@@ -0,0 +1,93 @@
+package event;
+
+import javafx.application.Platform;
+import repository.UnitOfWork;
+
+import java.lang.ref.WeakReference;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
+
+/**
+ * In-process publish/subscribe for {@link DomainEvent}s.
+ * <p>
+ * Events are published from any thread and held back until the surrounding
+ * unit of work commits (a rollback drops them). They are delivered on the FX
+ * thread, in publish order; everything published before the FX thread gets
+ * to them is delivered in one pass.
+ * <p>
+ * Subscribers are held weakly: the bus keeps only a weak reference to the
+ * owner (usually a controller) and passes it to the handler, so a handler
+ * must not capture the owner itself. Use an unbound method reference such as
+ * {@code ProductsController::onProductChanged}. Once the owner has been
+ * collected, e.g. after its cached view is dropped on logout, the
+ * subscription goes away on its own.
+ */
+public final class DomainEventBus {
+
+    private static final List<Subscription<?, ?>> subscriptions = new CopyOnWriteArrayList<>();
+    private static final Queue<DomainEvent> pending = new ConcurrentLinkedQueue<>();
+    private static final AtomicBoolean drainScheduled = new AtomicBoolean();
+
+    private DomainEventBus() {
+    }
+
+    private record Subscription<O, E extends DomainEvent>(WeakReference<O> owner, Class<E> type,
+                                                          BiConsumer<? super O, ? super E> handler) {
+
+        // False once the owner has been collected
+        boolean deliver(DomainEvent event) {
+            O target = owner.get();
+            if (target == null) {
+                return false;
+            }
+            if (type.isInstance(event)) {
+                handler.accept(target, type.cast(event));
+            }
+            return true;
+        }
+    }
+
+    public static <O, E extends DomainEvent> void subscribe(O owner, Class<E> type,
+                                                           BiConsumer<? super O, ? super E> handler) {
+        subscriptions.add(new Subscription<>(new WeakReference<>(owner), type, handler));
+    }
+
+    public static void publish(DomainEvent event) {
+        UnitOfWork.afterCommit(() -> enqueue(event));
+    }
+
+    private static void enqueue(DomainEvent event) {
+        // Nothing on screen listens yet (e.g. during startup); also keeps headless tools off the FX toolkit
+        if (subscriptions.isEmpty()) {
+            return;
+        }
+        pending.add(event);
+        if (drainScheduled.compareAndSet(false, true)) {
+            Platform.runLater(DomainEventBus::drain);
+        }
+    }
+
+    private static void drain() {
+        // Cleared first, so an event published while draining schedules another pass
+        drainScheduled.set(false);
+        boolean collected = false;
+        DomainEvent event;
+        while ((event = pending.poll()) != null) {
+            for (Subscription<?, ?> subscription : subscriptions) {
+                try {
+                    collected |= !subscription.deliver(event);
+                } catch (RuntimeException e) {
+                    System.err.println("❌ " + event.getClass().getSimpleName() + " listener failed: " + e.getMessage());
+                    e.printStackTrace();
+                }
+            }
+        }
+        if (collected) {
+            subscriptions.removeIf(subscription -> subscription.owner().get() == null);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package model;
+
+import dto.CartItemDto;
+import javafx.beans.property.ReadOnlyDoubleProperty;
+import javafx.beans.property.ReadOnlyDoubleWrapper;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Shopping cart keyed by product id.
+ * <p>
+ * Lookups are O(1) and the grand total is kept as a running sum in cents, so
+ * changing one line never rescans the cart. Must be used on the FX thread.
+ */
+public final class Cart {
+
+    private final Map<Long, CartLine> linesById = new HashMap<>();
+    private final ObservableList<CartLine> lines = FXCollections.observableArrayList();
+    private final ObservableList<CartLine> readOnlyLines = FXCollections.unmodifiableObservableList(lines);
+    private final ReadOnlyDoubleWrapper total = new ReadOnlyDoubleWrapper(this, "total");
+
+    private long totalCents;
+
+    public ObservableList<CartLine> getLines() {
+        return readOnlyLines;
+    }
+
+    public CartLine getLine(Long productId) {
+        return linesById.get(productId);
+    }
+
+    public int quantityOf(Long productId) {
+        CartLine line = linesById.get(productId);
+        return line == null ? 0 : line.getQuantity();
+    }
+
+    /**
+     * Adds {@code quantity} units of the product, creating the line if needed.
+     */
+    public CartLine add(Long productId, String name, double price, int quantity) {
+        CartLine line = linesById.get(productId);
+        if (line == null) {
+            line = new CartLine(productId, name, price);
+            linesById.put(productId, line);
+            lines.add(line);
+        }
+        changeQuantity(line, line.getQuantity() + quantity);
+        return line;
+    }
+
+    public void setQuantity(Long productId, int quantity) {
+        CartLine line = linesById.get(productId);
+        if (line == null) {
+            return;
+        }
+        if (quantity <= 0) {
+            remove(productId);
+        } else {
+            changeQuantity(line, quantity);
+        }
+    }
+
+    public void remove(Long productId) {
+        CartLine line = linesById.remove(productId);
+        if (line != null) {
+            changeQuantity(line, 0);
+            lines.remove(line);
+        }
+    }
+
+    public void clear() {
+        linesById.clear();
+        lines.clear();
+        totalCents = 0;
+        total.set(0);
+    }
+
+    public boolean isEmpty() {
+        return linesById.isEmpty();
+    }
+
+    public double getTotal() {
+        return total.get();
+    }
+
+    public ReadOnlyDoubleProperty totalProperty() {
+        return total.getReadOnlyProperty();
+    }
+
+    public List<CartItemDto> toItems() {
+        List<CartItemDto> items = new ArrayList<>(lines.size());
+        for (CartLine line : lines) {
+            items.add(line.toDto());
+        }
+        return items;
+    }
+
+    private void changeQuantity(CartLine line, int quantity) {
+        totalCents += line.getPriceCents() * (quantity - line.getQuantity());
+        line.setQuantity(quantity);
+        total.set(totalCents / 100.0);
+    }
+}
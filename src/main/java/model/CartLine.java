@@ -0,0 +1,70 @@
+package model;
+
+import dto.CartItemDto;
+import javafx.beans.property.ReadOnlyDoubleProperty;
+import javafx.beans.property.ReadOnlyDoubleWrapper;
+import javafx.beans.property.ReadOnlyIntegerProperty;
+import javafx.beans.property.ReadOnlyIntegerWrapper;
+
+/**
+ * One product line in a {@link Cart}. Quantity and total are observable, so a
+ * table bound to them redraws only the changed row.
+ */
+public class CartLine {
+
+    private final Long productId;
+    private final String name;
+    private final double price;
+    private final long priceCents;
+
+    private final ReadOnlyIntegerWrapper quantity = new ReadOnlyIntegerWrapper(this, "quantity");
+    private final ReadOnlyDoubleWrapper total = new ReadOnlyDoubleWrapper(this, "total");
+
+    CartLine(Long productId, String name, double price) {
+        this.productId = productId;
+        this.name = name;
+        this.price = price;
+        this.priceCents = Math.round(price * 100);
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public double getPrice() {
+        return price;
+    }
+
+    public int getQuantity() {
+        return quantity.get();
+    }
+
+    public ReadOnlyIntegerProperty quantityProperty() {
+        return quantity.getReadOnlyProperty();
+    }
+
+    public double getTotal() {
+        return total.get();
+    }
+
+    public ReadOnlyDoubleProperty totalProperty() {
+        return total.getReadOnlyProperty();
+    }
+
+    public CartItemDto toDto() {
+        return new CartItemDto(productId, name, getQuantity(), price);
+    }
+
+    long getPriceCents() {
+        return priceCents;
+    }
+
+    void setQuantity(int newQuantity) {
+        quantity.set(newQuantity);
+        total.set(priceCents * newQuantity / 100.0);
+    }
+}
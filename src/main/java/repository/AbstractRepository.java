@@ -0,0 +1,155 @@
+package repository;
+
+import org.hibernate.Session;
+import org.hibernate.query.Query;
+import org.hibernate.query.QueryProducer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * CRUD and batch operations shared by the entity repositories. Every method
+ * joins the caller's {@link UnitOfWork} when one is open and otherwise runs in
+ * its own transaction. Errors are rethrown, never swallowed.
+ */
+public abstract class AbstractRepository<T, ID> {
+
+    // Matches hibernate.jdbc.batch_size so each flush sends full JDBC batches
+    protected static final int BATCH_SIZE = 50;
+
+    private final Class<T> entityClass;
+    private final String queryCacheRegion;
+
+    protected AbstractRepository(Class<T> entityClass) {
+        this(entityClass, null);
+    }
+
+    /**
+     * @param queryCacheRegion query cache region for {@link #findAll()}, or
+     *                         null to always hit the database
+     */
+    protected AbstractRepository(Class<T> entityClass, String queryCacheRegion) {
+        this.entityClass = entityClass;
+        this.queryCacheRegion = queryCacheRegion;
+    }
+
+    public void save(T entity) {
+        UnitOfWork.run(session -> session.persist(entity));
+    }
+
+    public T update(T entity) {
+        return UnitOfWork.inTransaction(session -> session.merge(entity));
+    }
+
+    public void delete(ID id) {
+        UnitOfWork.run(session -> {
+            T entity = session.get(entityClass, id);
+            if (entity != null) {
+                session.remove(entity);
+            }
+        });
+    }
+
+    public T findById(ID id) {
+        return read(session -> session.get(entityClass, id));
+    }
+
+    public List<T> findAll() {
+        return read(session -> {
+            Query<T> query = session.createQuery("FROM " + entityClass.getSimpleName(), entityClass);
+            if (queryCacheRegion != null) {
+                query.setCacheable(true).setCacheRegion(queryCacheRegion);
+            }
+            return query.list();
+        });
+    }
+
+    /**
+     * Persists all entities in one transaction, flushing every
+     * {@link #BATCH_SIZE} rows so inserts go out as JDBC batches and the
+     * persistence context stays small.
+     */
+    public void saveAll(Collection<? extends T> entities) {
+        boolean joined = UnitOfWork.isActive();
+        UnitOfWork.run(session -> {
+            List<Object> pending = new ArrayList<>(BATCH_SIZE);
+            for (T entity : entities) {
+                session.persist(entity);
+                pending.add(entity);
+                if (pending.size() == BATCH_SIZE) {
+                    flushBatch(session, pending, joined);
+                }
+            }
+            flushBatch(session, pending, joined);
+        });
+    }
+
+    /**
+     * Merges all entities in one transaction and returns the managed copies,
+     * flushing every {@link #BATCH_SIZE} rows.
+     */
+    public List<T> updateAll(Collection<? extends T> entities) {
+        boolean joined = UnitOfWork.isActive();
+        return UnitOfWork.inTransaction(session -> {
+            List<T> merged = new ArrayList<>(entities.size());
+            List<Object> pending = new ArrayList<>(BATCH_SIZE);
+            for (T entity : entities) {
+                T managed = session.merge(entity);
+                merged.add(managed);
+                pending.add(managed);
+                if (pending.size() == BATCH_SIZE) {
+                    flushBatch(session, pending, joined);
+                }
+            }
+            flushBatch(session, pending, joined);
+            return merged;
+        });
+    }
+
+    /**
+     * Deletes the given ids in one transaction. Entities are loaded
+     * {@link #BATCH_SIZE} at a time with a single IN query so cascades and
+     * lifecycle callbacks still run.
+     */
+    public void deleteAll(Collection<ID> ids) {
+        boolean joined = UnitOfWork.isActive();
+        UnitOfWork.run(session -> {
+            List<ID> idList = new ArrayList<>(ids);
+            for (int from = 0; from < idList.size(); from += BATCH_SIZE) {
+                List<ID> chunk = idList.subList(from, Math.min(from + BATCH_SIZE, idList.size()));
+                List<Object> pending = new ArrayList<>(chunk.size());
+                for (T entity : session.byMultipleIds(entityClass).multiLoad(chunk)) {
+                    if (entity != null) {
+                        session.remove(entity);
+                        pending.add(entity);
+                    }
+                }
+                flushBatch(session, pending, joined);
+            }
+        });
+    }
+
+    protected <R> R read(Function<Session, R> query) {
+        return UnitOfWork.read(query);
+    }
+
+    protected <R> R project(Function<QueryProducer, R> query) {
+        return UnitOfWork.project(query);
+    }
+
+    private static void flushBatch(Session session, List<Object> pending, boolean joined) {
+        if (pending.isEmpty()) {
+            return;
+        }
+        session.flush();
+        // Only clear a session we own; a caller's unit of work may still hold
+        // other managed entities, so release just this batch there
+        if (joined) {
+            pending.stream().filter(session::contains).forEach(session::detach);
+        } else {
+            session.clear();
+        }
+        pending.clear();
+    }
+}
@@ -1,61 +1,22 @@
 package repository;
 
+import dto.EmployeeDto;
 import entity.Employee;
-import util.HibernateUtil;
-import org.hibernate.Session;
-import org.hibernate.Transaction;
 import java.util.List;
 
-public class EmployeeRepository {
+public class EmployeeRepository extends AbstractRepository<Employee, Long> {
 
-    public void save(Employee employee) {
-        Transaction transaction = null;
-        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-            transaction = session.beginTransaction();
-            session.persist(employee);
-            transaction.commit();
-        } catch (Exception e) {
-            if (transaction != null) transaction.rollback();
-            e.printStackTrace();
-        }
-    }
-
-    public List<Employee> findAll() {
-        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-            return session.createQuery("FROM Employee", Employee.class).list();
-        }
-    }
-
-    public Employee findById(Long id) {
-        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-            return session.get(Employee.class, id);
-        }
-    }
+    private static final String REFERENCE_LISTS_REGION = "query.referenceLists";
 
-    public void update(Employee employee) {
-        Transaction transaction = null;
-        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-            transaction = session.beginTransaction();
-            session.merge(employee);
-            transaction.commit();
-        } catch (Exception e) {
-            if (transaction != null) transaction.rollback();
-            e.printStackTrace();
-        }
+    public EmployeeRepository() {
+        super(Employee.class, REFERENCE_LISTS_REGION);
     }
 
-    public void delete(Long id) {
-        Transaction transaction = null;
-        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-            transaction = session.beginTransaction();
-            Employee employee = session.get(Employee.class, id);
-            if (employee != null) {
-                session.remove(employee);
-            }
-            transaction.commit();
-        } catch (Exception e) {
-            if (transaction != null) transaction.rollback();
-            e.printStackTrace();
-        }
+    public List<EmployeeDto> findAllDtos() {
+        return project(session -> session.createQuery(
+                "SELECT new dto.EmployeeDto(e.id, e.name, e.position, e.email, e.phone, e.salary, e.active, e.version) FROM Employee e", EmployeeDto.class)
+                .setCacheable(true)
+                .setCacheRegion(REFERENCE_LISTS_REGION)
+                .list());
     }
-}
\ No newline at end of file
+}
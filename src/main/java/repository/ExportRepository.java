@@ -0,0 +1,42 @@
+package repository;
+
+import util.HibernateUtil;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.StatelessSession;
+import java.util.function.Consumer;
+
+/**
+ * Forward-only reads for bulk export. Rows are handed to the caller one at a
+ * time and never collected into a list.
+ */
+public class ExportRepository {
+
+    // Tells MySQL Connector/J to stream rows instead of buffering the whole result set
+    private static final int MYSQL_STREAMING_FETCH_SIZE = Integer.MIN_VALUE;
+
+    public long count(String hql) {
+        try (StatelessSession session = HibernateUtil.getSessionFactory().openStatelessSession()) {
+            return session.createQuery(hql, Long.class).getSingleResult();
+        }
+    }
+
+    /**
+     * Runs a projection query and passes each row to {@code rowHandler}.
+     * A stateless session keeps no persistence context, so nothing accumulates
+     * between rows. Returns the number of rows read.
+     */
+    public long scroll(String hql, Consumer<Object[]> rowHandler) {
+        try (StatelessSession session = HibernateUtil.getSessionFactory().openStatelessSession();
+             ScrollableResults<Object[]> rows = session.createQuery(hql, Object[].class)
+                     .setFetchSize(MYSQL_STREAMING_FETCH_SIZE)
+                     .scroll(ScrollMode.FORWARD_ONLY)) {
+            long count = 0;
+            while (rows.next()) {
+                rowHandler.accept(rows.get());
+                count++;
+            }
+            return count;
+        }
+    }
+}
@@ -1,70 +1,108 @@
 package repository;
 
+import dto.OrderDto;
+import dto.OrderFilterDto;
 import entity.Order;
-import util.HibernateUtil;
-import org.hibernate.Session;
-import org.hibernate.Transaction;
+import org.hibernate.query.SelectionQuery;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
-public class OrderRepository {
+public class OrderRepository extends AbstractRepository<Order, Long> {
 
-    public void save(Order order) {
-        Transaction transaction = null;
-        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-            transaction = session.beginTransaction();
-            session.persist(order);
-            transaction.commit();
-        } catch (Exception e) {
-            if (transaction != null) transaction.rollback();
-            e.printStackTrace();
-        }
+    public OrderRepository() {
+        super(Order.class);
     }
 
-    public List<Order> findAll() {
-        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-            return session.createQuery("FROM Order", Order.class).list();
-        }
+    private static final String DTO_SELECT =
+            "SELECT new dto.OrderDto(o.id, o.orderDate, o.totalAmount, o.customerName, o.status) FROM Order o";
+
+    public List<OrderDto> findTodayOrderDtos() {
+        LocalDate today = LocalDate.now();
+        return findDtosBetween(today.atStartOfDay(), today.plusDays(1).atStartOfDay());
     }
 
-    public Order findById(Long id) {
-        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-            return session.get(Order.class, id);
-        }
+    // Half-open [start, end) range on the raw column keeps the order_date index usable
+    public List<OrderDto> findDtosBetween(LocalDateTime start, LocalDateTime end) {
+        return project(session -> session.createQuery(
+                DTO_SELECT + " WHERE o.orderDate >= :start AND o.orderDate < :end",
+                OrderDto.class
+        )
+                .setParameter("start", start)
+                .setParameter("end", end)
+                .list());
     }
 
-    public void update(Order order) {
-        Transaction transaction = null;
-        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-            transaction = session.beginTransaction();
-            session.merge(order);
-            transaction.commit();
-        } catch (Exception e) {
-            if (transaction != null) transaction.rollback();
-            e.printStackTrace();
-        }
+    /**
+     * Returns up to {@code limit} orders matching the filter, newest first,
+     * strictly after the keyset cursor ({@code afterDate}, {@code afterId}).
+     * Pass null cursor values for the first page. Cost depends on the page
+     * size, not on how deep into the history the user has scrolled.
+     */
+    public List<OrderDto> findPageDtos(OrderFilterDto filter, LocalDateTime afterDate, Long afterId, int limit) {
+        return findPageDtos(filter, afterDate, afterId, limit, false);
     }
 
-    public void delete(Long id) {
-        Transaction transaction = null;
-        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-            transaction = session.beginTransaction();
-            Order order = session.get(Order.class, id);
-            if (order != null) {
-                session.remove(order);
-            }
-            transaction.commit();
-        } catch (Exception e) {
-            if (transaction != null) transaction.rollback();
-            e.printStackTrace();
-        }
+    /**
+     * The page of up to {@code limit} orders immediately newer than the keyset
+     * cursor ({@code beforeDate}, {@code beforeId}), still newest first. Used to
+     * scroll back up after older pages have dropped the ones above.
+     */
+    public List<OrderDto> findPageDtosBefore(OrderFilterDto filter, LocalDateTime beforeDate, Long beforeId, int limit) {
+        List<OrderDto> page = new ArrayList<>(findPageDtos(filter, beforeDate, beforeId, limit, true));
+        Collections.reverse(page);
+        return page;
     }
 
-    public List<Order> findTodayOrders() {
-        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-            return session.createQuery(
-                    "FROM Order WHERE DATE(orderDate) = CURRENT_DATE",
-                    Order.class
-            ).list();
+    // Walks the same index in either direction; "newer" pages come back oldest first
+    private List<OrderDto> findPageDtos(OrderFilterDto filter, LocalDateTime cursorDate, Long cursorId, int limit, boolean newer) {
+        StringBuilder hql = new StringBuilder(DTO_SELECT + " WHERE 1 = 1");
+        if (filter.getFromDate() != null) {
+            hql.append(" AND o.orderDate >= :fromDate");
+        }
+        if (filter.getToDate() != null) {
+            hql.append(" AND o.orderDate < :toDate");
+        }
+        if (filter.getCustomerName() != null && !filter.getCustomerName().isBlank()) {
+            hql.append(" AND o.customerName LIKE :customer");
+        }
+        if (filter.getStatus() != null) {
+            hql.append(" AND o.status = :status");
         }
+        if (cursorDate != null && cursorId != null) {
+            hql.append(newer
+                    ? " AND (o.orderDate > :cursorDate OR (o.orderDate = :cursorDate AND o.id > :cursorId))"
+                    : " AND (o.orderDate < :cursorDate OR (o.orderDate = :cursorDate AND o.id < :cursorId))");
+        }
+        hql.append(newer ? " ORDER BY o.orderDate ASC, o.id ASC" : " ORDER BY o.orderDate DESC, o.id DESC");
+
+        return project(session -> {
+            SelectionQuery<OrderDto> query = session.createQuery(hql.toString(), OrderDto.class);
+            if (filter.getFromDate() != null) {
+                query.setParameter("fromDate", filter.getFromDate().atStartOfDay());
+            }
+            if (filter.getToDate() != null) {
+                // Inclusive "to" day becomes an exclusive upper bound
+                query.setParameter("toDate", filter.getToDate().plusDays(1).atStartOfDay());
+            }
+            if (filter.getCustomerName() != null && !filter.getCustomerName().isBlank()) {
+                // Prefix match so the customer index stays usable
+                query.setParameter("customer", escapeLike(filter.getCustomerName().trim()) + "%");
+            }
+            if (filter.getStatus() != null) {
+                query.setParameter("status", filter.getStatus());
+            }
+            if (cursorDate != null && cursorId != null) {
+                query.setParameter("cursorDate", cursorDate);
+                query.setParameter("cursorId", cursorId);
+            }
+            return query.setMaxResults(limit).list();
+        });
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
     }
 }
\ No newline at end of file
@@ -1,61 +1,72 @@
 package repository;
 
+import dto.ProductDto;
+import dto.SupplierStockDto;
 import entity.Product;
 import util.HibernateUtil;
-import org.hibernate.Session;
-import org.hibernate.Transaction;
+import org.hibernate.Cache;
+import java.util.Collection;
 import java.util.List;
 
-public class ProductRepository {
-
-    public void save(Product product) {
-        Transaction transaction = null;
-        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-            transaction = session.beginTransaction();
-            session.persist(product);
-            transaction.commit();
-        } catch (Exception e) {
-            if (transaction != null) transaction.rollback();
-            e.printStackTrace();
-        }
+public class ProductRepository extends AbstractRepository<Product, Long> {
+
+    public ProductRepository() {
+        super(Product.class);
     }
 
-    public List<Product> findAll() {
-        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-            return session.createQuery("FROM Product", Product.class).list();
-        }
+    private static final String DTO_SELECT =
+            "SELECT new dto.ProductDto(p.id, p.name, p.category, p.price, p.quantity, s.id, s.name, p.barcode, p.version) " +
+            "FROM Product p LEFT JOIN p.supplier s ";
+
+    // Read-only catalog rows straight into DTOs, skipping entity hydration
+    public List<ProductDto> findAllDtos() {
+        return project(session -> session.createQuery(DTO_SELECT, ProductDto.class).list());
     }
 
-    public Product findById(Long id) {
-        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-            return session.get(Product.class, id);
-        }
+    // For read-modify-write: the supplier comes along so the result can be cached after commit
+    public Product findWithSupplier(Long id) {
+        return read(session -> session.createQuery(
+                "FROM Product p LEFT JOIN FETCH p.supplier WHERE p.id = :id", Product.class)
+                .setParameter("id", id)
+                .uniqueResult());
     }
 
-    public void update(Product product) {
-        Transaction transaction = null;
-        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-            transaction = session.beginTransaction();
-            session.merge(product);
-            transaction.commit();
-        } catch (Exception e) {
-            if (transaction != null) transaction.rollback();
-            e.printStackTrace();
-        }
+    // Range scan on idx_products_supplier_quantity
+    public List<ProductDto> findLowStockDtosBySupplier(Long supplierId, int threshold) {
+        return project(session -> session.createQuery(
+                DTO_SELECT + "WHERE s.id = :supplierId AND p.quantity < :threshold ORDER BY p.quantity", ProductDto.class)
+                .setParameter("supplierId", supplierId)
+                .setParameter("threshold", threshold)
+                .list());
+    }
+
+    public List<SupplierStockDto> findStockBySupplier() {
+        return project(session -> session.createQuery(
+                "SELECT new dto.SupplierStockDto(s.id, s.name, COUNT(p), SUM(p.quantity), SUM(p.price * p.quantity)) " +
+                "FROM Product p JOIN p.supplier s " +
+                "GROUP BY s.id, s.name ORDER BY SUM(p.price * p.quantity) DESC", SupplierStockDto.class)
+                .list());
+    }
+
+    /**
+     * Unlinks every product from a supplier that is about to be deleted.
+     * Bulk HQL, so Hibernate evicts the product cache region itself.
+     */
+    public int clearSupplier(Long supplierId) {
+        return UnitOfWork.inTransaction(session -> session.createMutationQuery(
+                "UPDATE Product p SET p.supplier = null, p.version = p.version + 1 WHERE p.supplier.id = :supplierId")
+                .setParameter("supplierId", supplierId)
+                .executeUpdate());
     }
 
-    public void delete(Long id) {
-        Transaction transaction = null;
-        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-            transaction = session.beginTransaction();
-            Product product = session.get(Product.class, id);
-            if (product != null) {
-                session.remove(product);
-            }
-            transaction.commit();
-        } catch (Exception e) {
-            if (transaction != null) transaction.rollback();
-            e.printStackTrace();
+    /**
+     * Drops cached copies of products whose rows were changed with plain JDBC,
+     * which bypasses the second-level cache.
+     */
+    public void evictFromCache(Collection<Long> ids) {
+        Cache cache = HibernateUtil.getSessionFactory().getCache();
+        for (Long id : ids) {
+            cache.evictEntityData(Product.class, id);
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,104 @@
+package repository;
+
+import entity.SalesRollupDaily;
+import entity.SalesRollupHourly;
+import org.hibernate.Session;
+import org.hibernate.query.MutationQuery;
+import org.hibernate.query.NativeQuery;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+public class SalesRollupRepository {
+
+    private static final String HOURLY_TABLE = "sales_rollup_hourly";
+    private static final String DAILY_TABLE = "sales_rollup_daily";
+
+    private static final String UPSERT_HOURLY =
+            "INSERT INTO sales_rollup_hourly (bucketStart, orderCount, totalSales, minSale, maxSale) " +
+            "VALUES (:bucket, 1, :amount, :amount, :amount) " +
+            "ON DUPLICATE KEY UPDATE orderCount = orderCount + 1, totalSales = totalSales + :amount, " +
+            "minSale = LEAST(minSale, :amount), maxSale = GREATEST(maxSale, :amount)";
+
+    private static final String UPSERT_DAILY =
+            "INSERT INTO sales_rollup_daily (bucketDate, orderCount, totalSales, minSale, maxSale) " +
+            "VALUES (:bucket, 1, :amount, :amount, :amount) " +
+            "ON DUPLICATE KEY UPDATE orderCount = orderCount + 1, totalSales = totalSales + :amount, " +
+            "minSale = LEAST(minSale, :amount), maxSale = GREATEST(maxSale, :amount)";
+
+    private static final String REBUILD_HOURLY =
+            "INSERT INTO sales_rollup_hourly (bucketStart, orderCount, totalSales, minSale, maxSale) " +
+            "SELECT DATE_FORMAT(orderDate, '%Y-%m-%d %H:00:00'), COUNT(*), SUM(totalAmount), " +
+            "MIN(totalAmount), MAX(totalAmount) FROM orders " +
+            "GROUP BY DATE_FORMAT(orderDate, '%Y-%m-%d %H:00:00')";
+
+    private static final String REBUILD_DAILY =
+            "INSERT INTO sales_rollup_daily (bucketDate, orderCount, totalSales, minSale, maxSale) " +
+            "SELECT DATE(orderDate), COUNT(*), SUM(totalAmount), MIN(totalAmount), MAX(totalAmount) " +
+            "FROM orders GROUP BY DATE(orderDate)";
+
+    /**
+     * Adds one order to its hourly and daily buckets. Runs in the caller's
+     * session so the rollups commit or roll back together with the order.
+     */
+    public void record(Session session, LocalDateTime orderDate, double amount) {
+        mutation(session, UPSERT_HOURLY, HOURLY_TABLE)
+                .setParameter("bucket", orderDate.truncatedTo(ChronoUnit.HOURS))
+                .setParameter("amount", amount)
+                .executeUpdate();
+        mutation(session, UPSERT_DAILY, DAILY_TABLE)
+                .setParameter("bucket", orderDate.toLocalDate())
+                .setParameter("amount", amount)
+                .executeUpdate();
+    }
+
+    /**
+     * Recomputes both rollup tables from the orders table.
+     */
+    public void rebuild() {
+        UnitOfWork.run(session -> {
+            mutation(session, "DELETE FROM " + HOURLY_TABLE, HOURLY_TABLE).executeUpdate();
+            mutation(session, "DELETE FROM " + DAILY_TABLE, DAILY_TABLE).executeUpdate();
+            mutation(session, REBUILD_HOURLY, HOURLY_TABLE).executeUpdate();
+            mutation(session, REBUILD_DAILY, DAILY_TABLE).executeUpdate();
+        });
+    }
+
+    /**
+     * A native mutation that names no table is assumed to touch all of them,
+     * so executing it would evict every second-level entity region and query
+     * cache. Rollup writes only affect {@code table}.
+     */
+    private static MutationQuery mutation(Session session, String sql, String table) {
+        // Hibernate 6 returns its NativeQuery implementation here; MutationQuery just does not expose the spaces
+        NativeQuery<?> query = (NativeQuery<?>) session.createNativeMutationQuery(sql);
+        query.addSynchronizedQuerySpace(table);
+        return query;
+    }
+
+    public boolean isEmpty() {
+        return UnitOfWork.read(session -> session.createQuery("SELECT COUNT(*) FROM SalesRollupDaily", Long.class)
+                .getSingleResult() == 0);
+    }
+
+    public List<SalesRollupHourly> findHourly(LocalDateTime start, LocalDateTime end) {
+        return UnitOfWork.read(session -> session.createQuery(
+                "FROM SalesRollupHourly WHERE bucketStart >= :start AND bucketStart < :end ORDER BY bucketStart",
+                SalesRollupHourly.class
+        )
+                .setParameter("start", start)
+                .setParameter("end", end)
+                .list());
+    }
+
+    public List<SalesRollupDaily> findDaily(LocalDate start, LocalDate end) {
+        return UnitOfWork.read(session -> session.createQuery(
+                "FROM SalesRollupDaily WHERE bucketDate >= :start AND bucketDate < :end ORDER BY bucketDate",
+                SalesRollupDaily.class
+        )
+                .setParameter("start", start)
+                .setParameter("end", end)
+                .list());
+    }
+}
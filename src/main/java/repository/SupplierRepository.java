@@ -1,61 +1,22 @@
 package repository;
 
+import dto.SupplierDto;
 import entity.Supplier;
-import util.HibernateUtil;
-import org.hibernate.Session;
-import org.hibernate.Transaction;
 import java.util.List;
 
-public class SupplierRepository {
+public class SupplierRepository extends AbstractRepository<Supplier, Long> {
 
-    public void save(Supplier supplier) {
-        Transaction transaction = null;
-        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-            transaction = session.beginTransaction();
-            session.persist(supplier);
-            transaction.commit();
-        } catch (Exception e) {
-            if (transaction != null) transaction.rollback();
-            e.printStackTrace();
-        }
-    }
-
-    public List<Supplier> findAll() {
-        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-            return session.createQuery("FROM Supplier", Supplier.class).list();
-        }
-    }
-
-    public Supplier findById(Long id) {
-        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-            return session.get(Supplier.class, id);
-        }
-    }
+    private static final String REFERENCE_LISTS_REGION = "query.referenceLists";
 
-    public void update(Supplier supplier) {
-        Transaction transaction = null;
-        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-            transaction = session.beginTransaction();
-            session.merge(supplier);
-            transaction.commit();
-        } catch (Exception e) {
-            if (transaction != null) transaction.rollback();
-            e.printStackTrace();
-        }
+    public SupplierRepository() {
+        super(Supplier.class, REFERENCE_LISTS_REGION);
     }
 
-    public void delete(Long id) {
-        Transaction transaction = null;
-        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-            transaction = session.beginTransaction();
-            Supplier supplier = session.get(Supplier.class, id);
-            if (supplier != null) {
-                session.remove(supplier);
-            }
-            transaction.commit();
-        } catch (Exception e) {
-            if (transaction != null) transaction.rollback();
-            e.printStackTrace();
-        }
+    public List<SupplierDto> findAllDtos() {
+        return project(session -> session.createQuery(
+                "SELECT new dto.SupplierDto(s.id, s.name, s.email, s.phone, s.address, s.active, s.version) FROM Supplier s", SupplierDto.class)
+                .setCacheable(true)
+                .setCacheRegion(REFERENCE_LISTS_REGION)
+                .list());
     }
-}
\ No newline at end of file
+}
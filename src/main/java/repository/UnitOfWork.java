@@ -0,0 +1,136 @@
+package repository;
+
+import util.HibernateUtil;
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+import org.hibernate.query.QueryProducer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Binds one Session and transaction to the current thread for the duration of
+ * a block of work. Repository calls made inside the block join it instead of
+ * opening their own session, so a multi-entity operation commits or rolls
+ * back as a whole and uses a single connection.
+ */
+public final class UnitOfWork {
+
+    private static final ThreadLocal<Session> CURRENT = new ThreadLocal<>();
+    private static final ThreadLocal<List<Runnable>> AFTER_COMMIT = new ThreadLocal<>();
+
+    private UnitOfWork() {
+    }
+
+    /**
+     * Runs {@code work} in a transaction. If a unit of work is already open on
+     * this thread the work joins it and the outer block decides the outcome.
+     * Failures roll back and are rethrown to the caller.
+     */
+    public static <T> T inTransaction(Function<Session, T> work) {
+        Session current = CURRENT.get();
+        if (current != null) {
+            return work.apply(current);
+        }
+
+        Transaction transaction = null;
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            CURRENT.set(session);
+            transaction = session.beginTransaction();
+            T result = work.apply(session);
+            transaction.commit();
+            runAfterCommit();
+            return result;
+        } catch (RuntimeException e) {
+            if (transaction != null && transaction.isActive()) transaction.rollback();
+            throw e;
+        } finally {
+            CURRENT.remove();
+            AFTER_COMMIT.remove();
+        }
+    }
+
+    public static void run(Consumer<Session> work) {
+        inTransaction(session -> {
+            work.accept(session);
+            return null;
+        });
+    }
+
+    /**
+     * Runs a query. Inside a unit of work the current session is reused so the
+     * query sees its pending changes; otherwise a short-lived read-only session
+     * is opened that skips dirty checking and never flushes.
+     */
+    public static <T> T read(Function<Session, T> work) {
+        Session current = CURRENT.get();
+        if (current != null) {
+            return work.apply(current);
+        }
+
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            session.setDefaultReadOnly(true);
+            session.setHibernateFlushMode(FlushMode.MANUAL);
+            return work.apply(session);
+        }
+    }
+
+    /**
+     * Runs a DTO projection query. Outside a unit of work it uses a
+     * StatelessSession, which has no persistence context, so rows are never
+     * registered, snapshotted or dirty-checked.
+     */
+    public static <T> T project(Function<QueryProducer, T> work) {
+        Session current = CURRENT.get();
+        if (current != null) {
+            return work.apply(current);
+        }
+
+        try (StatelessSession session = HibernateUtil.getSessionFactory().openStatelessSession()) {
+            return work.apply(session);
+        }
+    }
+
+    /**
+     * Runs {@code action} once the current unit of work has committed, or
+     * straight away when none is open. Dropped if the unit of work rolls back.
+     */
+    public static void afterCommit(Runnable action) {
+        if (CURRENT.get() == null) {
+            action.run();
+            return;
+        }
+        List<Runnable> actions = AFTER_COMMIT.get();
+        if (actions == null) {
+            actions = new ArrayList<>();
+            AFTER_COMMIT.set(actions);
+        }
+        actions.add(action);
+    }
+
+    private static void runAfterCommit() {
+        List<Runnable> actions = AFTER_COMMIT.get();
+        if (actions == null) {
+            return;
+        }
+        AFTER_COMMIT.remove();
+        // Repository calls made by these actions open their own unit instead of joining the committed one
+        CURRENT.remove();
+        for (Runnable action : actions) {
+            try {
+                action.run();
+            } catch (RuntimeException e) {
+                // The data is committed; a failing listener must not turn that into an error
+                System.err.println("❌ After-commit action failed: " + e.getMessage());
+                e.printStackTrace();
+            }
+        }
+    }
+
+    public static boolean isActive() {
+        return CURRENT.get() != null;
+    }
+}
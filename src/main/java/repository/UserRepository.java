@@ -0,0 +1,19 @@
+package repository;
+
+import entity.User;
+
+public class UserRepository extends AbstractRepository<User, Long> {
+
+    public UserRepository() {
+        super(User.class);
+    }
+
+    // Served from the query cache after the first login; any write to users invalidates it
+    public User findByUsername(String username) {
+        return read(session -> session.createQuery("FROM User WHERE username = :username", User.class)
+                .setParameter("username", username)
+                .setCacheable(true)
+                .setCacheRegion("query.userByUsername")
+                .uniqueResult());
+    }
+}
@@ -0,0 +1,113 @@
+package service;
+
+import entity.User;
+import repository.UserRepository;
+import util.BackgroundExecutor;
+import util.PasswordHasher;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Checks login credentials off the FX thread.
+ * <p>
+ * Failed attempts are counted per username (across all login screens in this
+ * process). After {@link #FREE_ATTEMPTS} failures the username is locked out,
+ * starting at 30 seconds and doubling with each further failure up to 15
+ * minutes. A successful login clears the count.
+ */
+public class AuthService {
+
+    private static final int FREE_ATTEMPTS = 5;
+    private static final long BASE_LOCKOUT_MILLIS = 30_000;
+    private static final long MAX_LOCKOUT_MILLIS = 15 * 60_000;
+    // Bounds memory when someone cycles through made-up usernames
+    private static final int MAX_TRACKED_USERNAMES = 10_000;
+
+    private static final Map<String, Attempts> attempts = new ConcurrentHashMap<>();
+    private static volatile String dummyHash;
+
+    private final UserRepository userRepository = new UserRepository();
+
+    private record Attempts(int failures, long lockedUntil) {
+    }
+
+    /**
+     * Returns the user when the password matches, or null for an unknown
+     * username or wrong password.
+     *
+     * @throws LoginThrottledException while the username is locked out
+     */
+    public User authenticate(String username, String password) {
+        String key = username.toLowerCase(Locale.ROOT);
+        long now = System.currentTimeMillis();
+        Attempts previous = attempts.get(key);
+        if (previous != null && previous.lockedUntil() > now) {
+            throw new LoginThrottledException((previous.lockedUntil() - now + 999) / 1000);
+        }
+
+        User user = userRepository.findByUsername(username);
+        // Unknown usernames pay for a hash too, so response time does not reveal which ones exist
+        String hash = user != null ? user.getPassword() : getDummyHash();
+        if (!PasswordHasher.matches(password, hash) || user == null) {
+            recordFailure(key, now);
+            return null;
+        }
+
+        attempts.remove(key);
+        if (PasswordHasher.needsRehash(user.getPassword())) {
+            rehashLater(user, password);
+        }
+        return user;
+    }
+
+    public CompletableFuture<User> authenticateAsync(String username, String password) {
+        return BackgroundExecutor.supply(() -> authenticate(username, password));
+    }
+
+    private static void recordFailure(String key, long now) {
+        if (attempts.size() >= MAX_TRACKED_USERNAMES) {
+            attempts.values().removeIf(a -> a.lockedUntil() < now);
+        }
+        attempts.compute(key, (k, current) -> {
+            int failures = current == null ? 1 : current.failures() + 1;
+            long lockedUntil = 0;
+            if (failures >= FREE_ATTEMPTS) {
+                int doublings = Math.min(failures - FREE_ATTEMPTS, 30);
+                lockedUntil = now + Math.min(MAX_LOCKOUT_MILLIS, BASE_LOCKOUT_MILLIS << doublings);
+            }
+            return new Attempts(failures, lockedUntil);
+        });
+    }
+
+    /**
+     * Upgrades a stored hash below this host's calibrated cost while the plain
+     * password is at hand; a stronger hash is never replaced. Runs after the login completes so
+     * the user does not wait for the second hash; a failure just leaves the
+     * old hash in place until the next login.
+     */
+    private void rehashLater(User user, String password) {
+        BackgroundExecutor.run(() -> {
+            try {
+                User rehashed = new User(user.getId(), user.getUsername(), PasswordHasher.hash(password),
+                        user.getFullName(), user.getRole(), user.getActive(), user.getVersion());
+                userRepository.update(rehashed);
+                System.out.println("🔐 Rehashed password for " + user.getUsername()
+                        + " at cost " + PasswordHasher.getCost());
+            } catch (RuntimeException e) {
+                System.err.println("❌ Could not rehash password for " + user.getUsername() + ": " + e.getMessage());
+            }
+        });
+    }
+
+    private static String getDummyHash() {
+        String hash = dummyHash;
+        if (hash == null) {
+            hash = PasswordHasher.hash("not-a-real-password");
+            dummyHash = hash;
+        }
+        return hash;
+    }
+}
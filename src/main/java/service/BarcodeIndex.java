@@ -0,0 +1,112 @@
+package service;
+
+import dto.ProductDto;
+import util.LongIntHashMap;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Maps numeric barcodes to catalog slots for the POS scan path.
+ * <p>
+ * A scan parses the code into a primitive {@code long}, probes a
+ * {@link LongIntHashMap} for the slot and reads the product straight from the
+ * slot array, so nothing is boxed or allocated per scan. The id-keyed map is
+ * only used on the (rare) write path.
+ */
+class BarcodeIndex {
+
+    private static final int NO_SLOT = -1;
+    private static final int MAX_DIGITS = 18;
+
+    private final LongIntHashMap slotByCode = new LongIntHashMap(1024, NO_SLOT);
+    private final Map<Long, Integer> slotById = new HashMap<>();
+
+    private ProductDto[] slots = new ProductDto[1024];
+    private int[] freeSlots = new int[64];
+    private int freeCount;
+    private int nextSlot;
+
+    synchronized ProductDto lookup(long code) {
+        int slot = slotByCode.get(code);
+        return slot == NO_SLOT ? null : slots[slot];
+    }
+
+    synchronized void put(ProductDto product) {
+        long code = parseCode(product.getBarcode());
+        Integer slot = slotById.get(product.getId());
+
+        if (slot != null) {
+            long previousCode = parseCode(slots[slot].getBarcode());
+            if (previousCode != code) {
+                slotByCode.remove(previousCode);
+            }
+            if (code < 0) {
+                release(product.getId(), slot);
+                return;
+            }
+        } else {
+            if (code < 0) {
+                return;
+            }
+            slot = allocate();
+            slotById.put(product.getId(), slot);
+        }
+
+        slots[slot] = product;
+        slotByCode.put(code, slot);
+    }
+
+    synchronized void remove(Long id) {
+        Integer slot = slotById.get(id);
+        if (slot != null) {
+            slotByCode.remove(parseCode(slots[slot].getBarcode()));
+            release(id, slot);
+        }
+    }
+
+    /**
+     * Parses a barcode of up to 18 digits into its key; returns -1 for anything
+     * else. The digits are read after a leading 1, so "0012345" and "12345"
+     * stay distinct like the unique constraint on the column, and 18 digits
+     * still fit in a long.
+     */
+    static long parseCode(CharSequence text) {
+        if (text == null) {
+            return -1;
+        }
+        int length = text.length();
+        if (length == 0 || length > MAX_DIGITS) {
+            return -1;
+        }
+        long code = 1;
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            code = code * 10 + (c - '0');
+        }
+        return code;
+    }
+
+    private int allocate() {
+        if (freeCount > 0) {
+            return freeSlots[--freeCount];
+        }
+        if (nextSlot == slots.length) {
+            slots = Arrays.copyOf(slots, slots.length << 1);
+        }
+        return nextSlot++;
+    }
+
+    private void release(Long id, int slot) {
+        slotById.remove(id);
+        slots[slot] = null;
+        if (freeCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeSlots.length << 1);
+        }
+        freeSlots[freeCount++] = slot;
+    }
+}
@@ -0,0 +1,129 @@
+package service;
+
+import dto.CartItemDto;
+import dto.OrderDto;
+import dto.ProductDto;
+import entity.Order;
+import entity.OrderItem;
+import entity.Product;
+import event.DomainEvent;
+import event.DomainEventBus;
+import repository.OrderRepository;
+import repository.ProductRepository;
+import repository.SalesRollupRepository;
+import repository.UnitOfWork;
+import util.BackgroundExecutor;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+public class CheckoutService {
+
+    private final ProductCatalogCache catalog = ProductCatalogCache.getInstance();
+    private final OrderRepository orderRepository = new OrderRepository();
+    private final ProductRepository productRepository = new ProductRepository();
+    private final SalesRollupRepository rollupRepository = new SalesRollupRepository();
+
+    // Guarded decrement: a line only succeeds while enough stock is left, so two
+    // registers selling the last unit cannot both win. Bumping the version makes
+    // any form still holding the old row retry instead of overwriting the sale.
+    private static final String DECREMENT_STOCK_SQL =
+            "UPDATE products SET quantity = quantity - ?, version = version + 1 WHERE id = ? AND quantity >= ?";
+
+    /**
+     * Writes the order with its line items, updates the sales rollups and
+     * decrements stock for every cart line in a single transaction. Line items are inserted through Hibernate's
+     * JDBC batching and all decrements go to the database as one batch; if any
+     * line no longer has enough stock the whole sale is rolled back. Once
+     * committed, the sale is published as an OrderCreated event plus one
+     * StockAdjusted event per line.
+     */
+    public void checkout(OrderDto dto, List<CartItemDto> items) {
+        Order saved;
+        try {
+            saved = UnitOfWork.inTransaction(session -> {
+                Order order = new Order();
+                order.setOrderDate(LocalDateTime.now());
+                order.setTotalAmount(dto.getTotalAmount());
+                order.setCustomerName(dto.getCustomerName());
+                order.setStatus("COMPLETED");
+                for (CartItemDto cartItem : items) {
+                    OrderItem item = new OrderItem();
+                    item.setProductId(cartItem.getProductId());
+                    item.setQuantity(cartItem.getQuantity());
+                    item.setUnitPrice(cartItem.getPrice());
+                    order.addItem(item);
+                }
+                orderRepository.save(order);
+                rollupRepository.record(session, order.getOrderDate(), order.getTotalAmount());
+
+                session.doWork(connection -> decrementStock(connection, items));
+                return order;
+            });
+        } catch (InsufficientStockException e) {
+            resyncStock(e.getProductId());
+            throw e;
+        }
+
+        // The JDBC decrement bypasses Hibernate, so drop the stale cached rows
+        productRepository.evictFromCache(items.stream().map(CartItemDto::getProductId).toList());
+        for (CartItemDto item : items) {
+            ProductDto updated = catalog.adjustQuantity(item.getProductId(), -item.getQuantity());
+            if (updated != null) {
+                DomainEventBus.publish(new DomainEvent.StockAdjusted(updated, -item.getQuantity()));
+            }
+        }
+        DomainEventBus.publish(new DomainEvent.OrderCreated(new OrderDto(
+                saved.getId(), saved.getOrderDate(), saved.getTotalAmount(), saved.getCustomerName(), saved.getStatus())));
+    }
+
+    /**
+     * The sale failed because this terminal's cached stock was stale, e.g.
+     * units were sold at another register. Reloads that product so the
+     * screens show what is actually left.
+     */
+    private void resyncStock(Long productId) {
+        try {
+            productRepository.evictFromCache(List.of(productId));
+            Product product = productRepository.findWithSupplier(productId);
+            if (product == null) {
+                catalog.remove(productId);
+                DomainEventBus.publish(new DomainEvent.ProductDeleted(productId));
+            } else {
+                ProductDto fresh = ProductService.convertToDto(product);
+                catalog.put(fresh);
+                DomainEventBus.publish(new DomainEvent.ProductChanged(fresh));
+            }
+        } catch (RuntimeException e) {
+            System.err.println("❌ Could not reload stock for product " + productId + ": " + e.getMessage());
+        }
+    }
+
+    public CompletableFuture<Void> checkoutAsync(OrderDto dto, List<CartItemDto> items) {
+        return BackgroundExecutor.run(() -> checkout(dto, items));
+    }
+
+    private void decrementStock(Connection connection, List<CartItemDto> items) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(DECREMENT_STOCK_SQL)) {
+            for (CartItemDto item : items) {
+                statement.setInt(1, item.getQuantity());
+                statement.setLong(2, item.getProductId());
+                statement.setInt(3, item.getQuantity());
+                statement.addBatch();
+            }
+
+            int[] updated = statement.executeBatch();
+            for (int i = 0; i < updated.length; i++) {
+                if (updated[i] == 0) {
+                    CartItemDto item = items.get(i);
+                    throw new InsufficientStockException(item.getProductId(),
+                            "Not enough stock left for " + item.getName() + "!");
+                }
+            }
+        }
+    }
+}
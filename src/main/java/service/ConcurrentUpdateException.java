@@ -0,0 +1,14 @@
+package service;
+
+/**
+ * Thrown when a record could not be saved because another user or terminal
+ * changed it first, and retrying did not help (or was not safe).
+ */
+public class ConcurrentUpdateException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public ConcurrentUpdateException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -2,9 +2,12 @@ package service;
 
 import dto.EmployeeDto;
 import entity.Employee;
+import event.DomainEvent;
+import event.DomainEventBus;
 import repository.EmployeeRepository;
+import util.BackgroundExecutor;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
 
 public class EmployeeService {
 
@@ -20,12 +23,11 @@ public class EmployeeService {
         employee.setActive(true);
 
         employeeRepository.save(employee);
+        DomainEventBus.publish(new DomainEvent.EmployeeChanged(convertToDto(employee)));
     }
 
     public List<EmployeeDto> getAllEmployees() {
-        return employeeRepository.findAll().stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return employeeRepository.findAllDtos();
     }
 
     public EmployeeDto getEmployeeById(Long id) {
@@ -42,12 +44,34 @@ public class EmployeeService {
         employee.setPhone(dto.getPhone());
         employee.setSalary(dto.getSalary());
         employee.setActive(dto.getActive());
+        employee.setVersion(dto.getVersion());
 
-        employeeRepository.update(employee);
+        // Single attempt: retrying a blind overwrite would just discard the other edit
+        Employee saved = OptimisticRetry.call("Updating " + dto.getName(), 1, () -> employeeRepository.update(employee));
+        DomainEventBus.publish(new DomainEvent.EmployeeChanged(convertToDto(saved)));
     }
 
     public void deleteEmployee(Long id) {
         employeeRepository.delete(id);
+        DomainEventBus.publish(new DomainEvent.EmployeeDeleted(id));
+    }
+
+    // Non-blocking variants for the UI; results complete on a virtual thread
+
+    public CompletableFuture<Void> addEmployeeAsync(EmployeeDto dto) {
+        return BackgroundExecutor.run(() -> addEmployee(dto));
+    }
+
+    public CompletableFuture<List<EmployeeDto>> getAllEmployeesAsync() {
+        return BackgroundExecutor.supply(this::getAllEmployees);
+    }
+
+    public CompletableFuture<Void> updateEmployeeAsync(EmployeeDto dto) {
+        return BackgroundExecutor.run(() -> updateEmployee(dto));
+    }
+
+    public CompletableFuture<Void> deleteEmployeeAsync(Long id) {
+        return BackgroundExecutor.run(() -> deleteEmployee(id));
     }
 
     private EmployeeDto convertToDto(Employee employee) {
@@ -58,7 +82,8 @@ public class EmployeeService {
                 employee.getEmail(),
                 employee.getPhone(),
                 employee.getSalary(),
-                employee.getActive()
+                employee.getActive(),
+                employee.getVersion()
         );
     }
 }
\ No newline at end of file
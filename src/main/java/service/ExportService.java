@@ -0,0 +1,103 @@
+package service;
+
+import repository.ExportRepository;
+import util.BackgroundExecutor;
+import util.CsvWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Exports orders, products and stock levels to CSV by streaming rows from the
+ * database straight into the file, so exports run in constant memory.
+ */
+public class ExportService {
+
+    public static final String ORDERS = "orders";
+    public static final String PRODUCTS = "products";
+    public static final String INVENTORY = "inventory";
+
+    private static final int PROGRESS_INTERVAL = 5_000;
+    private static final DateTimeFormatter FILE_STAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private static final String ORDERS_QUERY =
+            "SELECT o.id, o.orderDate, o.customerName, o.status, o.totalAmount FROM Order o ORDER BY o.id";
+    private static final String PRODUCTS_QUERY =
+            "SELECT p.id, p.barcode, p.name, p.category, p.price, s.name FROM Product p LEFT JOIN p.supplier s ORDER BY p.id";
+    private static final String INVENTORY_QUERY =
+            "SELECT p.id, p.name, p.category, p.quantity, p.price, p.price * p.quantity FROM Product p ORDER BY p.id";
+
+    /**
+     * Receives row counts while an export runs. Called on the exporting
+     * thread every few thousand rows and once when the dataset is finished.
+     */
+    public interface ProgressListener {
+        void onProgress(String dataset, long written, long total);
+    }
+
+    private final ExportRepository exportRepository = new ExportRepository();
+
+    public long exportOrders(Path file, boolean gzip, ProgressListener listener) {
+        return export(ORDERS, file, gzip, listener, "SELECT COUNT(o) FROM Order o", ORDERS_QUERY,
+                new String[]{"id", "order_date", "customer_name", "status", "total_amount"});
+    }
+
+    public long exportProducts(Path file, boolean gzip, ProgressListener listener) {
+        return export(PRODUCTS, file, gzip, listener, "SELECT COUNT(p) FROM Product p", PRODUCTS_QUERY,
+                new String[]{"id", "barcode", "name", "category", "price", "supplier"});
+    }
+
+    public long exportInventory(Path file, boolean gzip, ProgressListener listener) {
+        return export(INVENTORY, file, gzip, listener, "SELECT COUNT(p) FROM Product p", INVENTORY_QUERY,
+                new String[]{"id", "name", "category", "quantity", "price", "stock_value"});
+    }
+
+    /**
+     * Writes all three datasets into {@code directory} with timestamped file
+     * names, one after another.
+     */
+    public void exportAll(Path directory, boolean gzip, ProgressListener listener) {
+        String stamp = LocalDateTime.now().format(FILE_STAMP);
+        exportOrders(directory.resolve(fileName(ORDERS, stamp, gzip)), gzip, listener);
+        exportProducts(directory.resolve(fileName(PRODUCTS, stamp, gzip)), gzip, listener);
+        exportInventory(directory.resolve(fileName(INVENTORY, stamp, gzip)), gzip, listener);
+    }
+
+    // Non-blocking variants for the UI; results complete on a virtual thread
+
+    public CompletableFuture<Void> exportAllAsync(Path directory, boolean gzip, ProgressListener listener) {
+        return BackgroundExecutor.run(() -> exportAll(directory, gzip, listener));
+    }
+
+    private long export(String dataset, Path file, boolean gzip, ProgressListener listener,
+                        String countQuery, String rowQuery, String[] header) {
+        long total = exportRepository.count(countQuery);
+        listener.onProgress(dataset, 0, total);
+
+        try (CsvWriter csv = new CsvWriter(file, gzip)) {
+            csv.writeRow((Object[]) header);
+            long[] written = {0};
+            exportRepository.scroll(rowQuery, row -> {
+                try {
+                    csv.writeRow(row);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                if (++written[0] % PROGRESS_INTERVAL == 0) {
+                    listener.onProgress(dataset, written[0], Math.max(total, written[0]));
+                }
+            });
+            listener.onProgress(dataset, written[0], written[0]);
+            return written[0];
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write " + file, e);
+        }
+    }
+
+    private static String fileName(String dataset, String stamp, boolean gzip) {
+        return dataset + "-" + stamp + (gzip ? ".csv.gz" : ".csv");
+    }
+}
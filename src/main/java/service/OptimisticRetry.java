@@ -0,0 +1,84 @@
+package service;
+
+import jakarta.persistence.OptimisticLockException;
+import org.hibernate.StaleStateException;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Re-runs read-modify-write operations that lost an optimistic lock race.
+ * Each attempt must start a fresh transaction and re-read the row, so the
+ * retry applies the change on top of whatever the other writer committed.
+ * Conflict counts are kept for the Reports screen.
+ */
+public final class OptimisticRetry {
+
+    public static final int DEFAULT_ATTEMPTS = 5;
+
+    private static final LongAdder conflicts = new LongAdder();
+    private static final LongAdder retries = new LongAdder();
+    private static final LongAdder failures = new LongAdder();
+
+    private OptimisticRetry() {
+    }
+
+    public static <T> T call(String operation, Supplier<T> work) {
+        return call(operation, DEFAULT_ATTEMPTS, work);
+    }
+
+    /**
+     * Pass {@code maxAttempts = 1} for blind overwrites from a form, where a
+     * retry would silently discard the other user's change.
+     */
+    public static <T> T call(String operation, int maxAttempts, Supplier<T> work) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return work.get();
+            } catch (RuntimeException e) {
+                if (!isConflict(e)) {
+                    throw e;
+                }
+                conflicts.increment();
+                if (attempt >= maxAttempts) {
+                    failures.increment();
+                    throw new ConcurrentUpdateException(
+                            operation + " failed: the record was changed by another user. Please reload and try again.", e);
+                }
+                retries.increment();
+                backOff(attempt);
+            }
+        }
+    }
+
+    public static long getConflictCount() {
+        return conflicts.sum();
+    }
+
+    public static long getRetryCount() {
+        return retries.sum();
+    }
+
+    public static long getFailureCount() {
+        return failures.sum();
+    }
+
+    private static boolean isConflict(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof OptimisticLockException || t instanceof StaleStateException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Short randomised pause so two terminals that collided do not collide again
+    private static void backOff(int attempt) {
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(1, 5L * attempt + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,51 +1,47 @@
 package service;
 
 import dto.OrderDto;
-import entity.Order;
+import dto.OrderFilterDto;
 import repository.OrderRepository;
-import java.time.LocalDateTime;
+import util.BackgroundExecutor;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
 
 public class OrderService {
 
     private final OrderRepository orderRepository = new OrderRepository();
 
-    public void createOrder(OrderDto dto) {
-        Order order = new Order();
-        order.setOrderDate(LocalDateTime.now());
-        order.setTotalAmount(dto.getTotalAmount());
-        order.setCustomerName(dto.getCustomerName());
-        order.setStatus("COMPLETED");
+    public List<OrderDto> getTodayOrders() {
+        return orderRepository.findTodayOrderDtos();
+    }
 
-        orderRepository.save(order);
+    /**
+     * Keyset-paginated order history. {@code after} is the last order of the
+     * previous page, or null for the first page.
+     */
+    public List<OrderDto> getOrdersPage(OrderFilterDto filter, OrderDto after, int limit) {
+        return orderRepository.findPageDtos(filter,
+                after != null ? after.getOrderDate() : null,
+                after != null ? after.getId() : null,
+                limit);
     }
 
-    public List<OrderDto> getAllOrders() {
-        return orderRepository.findAll().stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+    // The page just above {@code before}, the first order still on screen
+    public List<OrderDto> getNewerOrdersPage(OrderFilterDto filter, OrderDto before, int limit) {
+        return orderRepository.findPageDtosBefore(filter, before.getOrderDate(), before.getId(), limit);
     }
 
-    public List<OrderDto> getTodayOrders() {
-        return orderRepository.findTodayOrders().stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+    // Non-blocking variants for the UI; results complete on a virtual thread
+
+    public CompletableFuture<List<OrderDto>> getTodayOrdersAsync() {
+        return BackgroundExecutor.supply(this::getTodayOrders);
     }
 
-    public Double getTodayTotalSales() {
-        return orderRepository.findTodayOrders().stream()
-                .mapToDouble(Order::getTotalAmount)
-                .sum();
+    public CompletableFuture<List<OrderDto>> getOrdersPageAsync(OrderFilterDto filter, OrderDto after, int limit) {
+        return BackgroundExecutor.supply(() -> getOrdersPage(filter, after, limit));
     }
 
-    private OrderDto convertToDto(Order order) {
-        return new OrderDto(
-                order.getId(),
-                order.getOrderDate(),
-                order.getTotalAmount(),
-                order.getCustomerName(),
-                order.getStatus()
-        );
+    public CompletableFuture<List<OrderDto>> getNewerOrdersPageAsync(OrderFilterDto filter, OrderDto before, int limit) {
+        return BackgroundExecutor.supply(() -> getNewerOrdersPage(filter, before, limit));
     }
-}
\ No newline at end of file
+}
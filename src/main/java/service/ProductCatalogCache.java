@@ -0,0 +1,283 @@
+package service;
+
+import dto.ProductDto;
+import repository.ProductRepository;
+import util.BackgroundExecutor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Process-wide, read-mostly copy of the product catalog.
+ * <p>
+ * Entries are never mutated in place: every write replaces the DTO for that id,
+ * so a list handed out by {@link #getAll()} stays a consistent snapshot. Callers
+ * must treat the returned DTOs as read-only. The whole catalog is reloaded from
+ * the database once it is older than {@link #MAX_AGE_NANOS}, which bounds how
+ * long changes made by other terminals stay invisible. That reload runs on a
+ * background thread while readers keep getting the current copy, so only the
+ * very first load makes a caller wait on the database.
+ */
+public class ProductCatalogCache {
+
+    private static final ProductCatalogCache INSTANCE = new ProductCatalogCache();
+
+    private static final long MAX_AGE_NANOS = TimeUnit.SECONDS.toNanos(60);
+
+    private final ProductRepository productRepository = new ProductRepository();
+    private volatile Map<Long, ProductDto> products = new ConcurrentSkipListMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    // Entries written, by reloads and by individual updates
+    private final LongAdder puts = new LongAdder();
+
+    private volatile boolean loaded;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private volatile long loadedAt;
+    private volatile List<ProductDto> snapshot;
+    private volatile ProductSearchIndex searchIndex = new ProductSearchIndex();
+    private volatile BarcodeIndex barcodeIndex = new BarcodeIndex();
+
+    private ProductCatalogCache() {
+    }
+
+    public static ProductCatalogCache getInstance() {
+        return INSTANCE;
+    }
+
+    public List<ProductDto> getAll() {
+        ensureLoaded();
+        List<ProductDto> current = snapshot;
+        return current != null ? current : buildSnapshot();
+    }
+
+    // Under the write lock, so a put racing with the copy cannot be overwritten by a stale list
+    private synchronized List<ProductDto> buildSnapshot() {
+        List<ProductDto> current = snapshot;
+        if (current == null) {
+            // Rebuilt from memory after a write; no database access needed
+            current = List.copyOf(products.values());
+            snapshot = current;
+        }
+        return current;
+    }
+
+    public ProductDto get(Long id) {
+        ensureLoaded();
+        return products.get(id);
+    }
+
+    /**
+     * Resolves a scanned barcode from memory; once the catalog is loaded this
+     * never waits on the database. Returns null for unknown or non-numeric codes.
+     */
+    public ProductDto findByBarcode(CharSequence code) {
+        ensureLoaded();
+        long parsed = BarcodeIndex.parseCode(code);
+        return parsed < 0 ? null : barcodeIndex.lookup(parsed);
+    }
+
+    /**
+     * Ranked search over name and category (and supplier when asked), answered
+     * from the in-memory index without touching the database.
+     */
+    public List<ProductDto> search(String query, boolean includeSupplier) {
+        ensureLoaded();
+        Map<Long, ProductDto> current = products;
+        List<ProductDto> results = new ArrayList<>();
+        for (Long id : searchIndex.search(query, includeSupplier)) {
+            ProductDto product = current.get(id);
+            if (product != null) {
+                results.add(product);
+            }
+        }
+        return results;
+    }
+
+    public synchronized void put(ProductDto product) {
+        if (!loaded) {
+            return;
+        }
+        ProductDto copy = copyOf(product);
+        products.put(copy.getId(), copy);
+        searchIndex.put(copy);
+        barcodeIndex.put(copy);
+        puts.increment();
+        snapshot = null;
+    }
+
+    public synchronized void remove(Long id) {
+        if (!loaded) {
+            return;
+        }
+        if (products.remove(id) != null) {
+            searchIndex.remove(id);
+            barcodeIndex.remove(id);
+            snapshot = null;
+        }
+    }
+
+    // Returns the updated entry, or null when the product is not cached
+    public synchronized ProductDto adjustQuantity(Long id, int delta) {
+        if (!loaded) {
+            return null;
+        }
+        ProductDto current = products.get(id);
+        if (current == null) {
+            return null;
+        }
+        ProductDto updated = copyOf(current);
+        updated.setQuantity(current.getQuantity() + delta);
+        // Matches the version bump made by the checkout's stock update
+        updated.setVersion(current.getVersion() != null ? current.getVersion() + 1 : null);
+        products.put(id, updated);
+        barcodeIndex.put(updated);
+        puts.increment();
+        snapshot = null;
+        return updated;
+    }
+
+    /**
+     * Patches the supplier name on cached products after a supplier is
+     * renamed; the product rows themselves only hold the supplier id.
+     * Returns the entries that changed.
+     */
+    public synchronized List<ProductDto> renameSupplier(Long supplierId, String name) {
+        return relinkSupplier(supplierId, name, false);
+    }
+
+    // After ProductRepository.clearSupplier, which also bumped each row's version
+    public synchronized List<ProductDto> unlinkSupplier(Long supplierId) {
+        return relinkSupplier(supplierId, null, true);
+    }
+
+    private List<ProductDto> relinkSupplier(Long supplierId, String name, boolean unlink) {
+        List<ProductDto> changed = new ArrayList<>();
+        if (!loaded || supplierId == null) {
+            return changed;
+        }
+        for (ProductDto current : products.values()) {
+            if (!supplierId.equals(current.getSupplierId())) {
+                continue;
+            }
+            ProductDto updated = copyOf(current);
+            if (unlink) {
+                updated.setSupplierId(null);
+                updated.setVersion(current.getVersion() != null ? current.getVersion() + 1 : null);
+            }
+            updated.setSupplier(name);
+            products.put(updated.getId(), updated);
+            searchIndex.put(updated);
+            barcodeIndex.put(updated);
+            puts.increment();
+            snapshot = null;
+            changed.add(updated);
+        }
+        return changed;
+    }
+
+    public synchronized void invalidate() {
+        loaded = false;
+        snapshot = null;
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getPutCount() {
+        return puts.sum();
+    }
+
+    public double getHitRatio() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return total == 0 ? 0.0 : (double) h / total;
+    }
+
+    private void ensureLoaded() {
+        if (!loaded) {
+            loadFirst();
+            return;
+        }
+        hits.increment();
+        // Past its age: keep answering from the current copy and reload off the caller's thread
+        if (isStale() && refreshing.compareAndSet(false, true)) {
+            BackgroundExecutor.run(this::refresh);
+        }
+    }
+
+    private boolean isStale() {
+        return System.nanoTime() - loadedAt >= MAX_AGE_NANOS;
+    }
+
+    private synchronized void loadFirst() {
+        // Another thread may have finished loading while we waited for the lock
+        if (loaded) {
+            hits.increment();
+            return;
+        }
+        reload();
+    }
+
+    private synchronized void refresh() {
+        try {
+            if (!loaded || isStale()) {
+                reload();
+            }
+        } catch (RuntimeException e) {
+            // The old copy stays in place and the next read tries again
+            System.err.println("❌ Could not refresh product catalog: " + e.getMessage());
+        } finally {
+            refreshing.set(false);
+        }
+    }
+
+    private void reload() {
+        misses.increment();
+
+        // Build the new map aside so readers never observe a half-loaded catalog
+        Map<Long, ProductDto> fresh = new ConcurrentSkipListMap<>();
+        for (ProductDto product : productRepository.findAllDtos()) {
+            fresh.put(product.getId(), product);
+        }
+        ProductSearchIndex freshIndex = new ProductSearchIndex();
+        BarcodeIndex freshBarcodes = new BarcodeIndex();
+        for (ProductDto product : fresh.values()) {
+            freshIndex.put(product);
+            freshBarcodes.put(product);
+        }
+
+        puts.add(fresh.size());
+
+        products = fresh;
+        searchIndex = freshIndex;
+        barcodeIndex = freshBarcodes;
+        snapshot = null;
+        loadedAt = System.nanoTime();
+        loaded = true;
+    }
+
+    private static ProductDto copyOf(ProductDto product) {
+        return new ProductDto(
+                product.getId(),
+                product.getName(),
+                product.getCategory(),
+                product.getPrice(),
+                product.getQuantity(),
+                product.getSupplierId(),
+                product.getSupplier(),
+                product.getBarcode(),
+                product.getVersion()
+        );
+    }
+}
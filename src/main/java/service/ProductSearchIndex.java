@@ -0,0 +1,207 @@
+package service;
+
+import dto.ProductDto;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Inverted index over product name, category and supplier.
+ * <p>
+ * Queries of three or more characters are answered from a trigram index and
+ * then verified with a substring check, so they keep the old "contains"
+ * semantics. Shorter queries match word prefixes through a sorted token map,
+ * since one- and two-letter substrings hit almost every product anyway.
+ */
+class ProductSearchIndex {
+
+    private static final int GRAM = 3;
+
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final Map<String, Set<Long>> grams = new HashMap<>();
+    private final NavigableMap<String, Set<Long>> tokens = new TreeMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    void put(ProductDto product) {
+        Entry entry = new Entry(product.getId(),
+                normalize(product.getName()),
+                normalize(product.getCategory()),
+                normalize(product.getSupplier()));
+
+        lock.writeLock().lock();
+        try {
+            Entry previous = entries.put(entry.id, entry);
+            if (previous != null) {
+                unindex(previous);
+            }
+            index(entry);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            Entry previous = entries.remove(id);
+            if (previous != null) {
+                unindex(previous);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns matching product ids, best match first: exact name, name prefix,
+     * word prefix in name, substring of name, then category and supplier hits.
+     */
+    List<Long> search(String query, boolean includeSupplier) {
+        String q = normalize(query);
+        if (q.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Set<Long> candidates = q.length() >= GRAM ? gramCandidates(q) : prefixCandidates(q);
+
+            List<Hit> hits = new ArrayList<>();
+            for (Long id : candidates) {
+                Entry entry = entries.get(id);
+                int rank = q.length() >= GRAM ? rankSubstring(entry, q, includeSupplier)
+                        : rankPrefix(entry, q, includeSupplier);
+                if (rank >= 0) {
+                    hits.add(new Hit(entry, rank));
+                }
+            }
+            hits.sort(Comparator.comparingInt(Hit::rank)
+                    .thenComparing(hit -> hit.entry.name)
+                    .thenComparing(hit -> hit.entry.id));
+
+            List<Long> ids = new ArrayList<>(hits.size());
+            for (Hit hit : hits) {
+                ids.add(hit.entry.id);
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Set<Long> gramCandidates(String q) {
+        // Start from the rarest trigram; the substring check filters the rest
+        Set<Long> smallest = null;
+        for (int i = 0; i + GRAM <= q.length(); i++) {
+            Set<Long> posting = grams.get(q.substring(i, i + GRAM));
+            if (posting == null) {
+                return Set.of();
+            }
+            if (smallest == null || posting.size() < smallest.size()) {
+                smallest = posting;
+            }
+        }
+        return smallest;
+    }
+
+    private Set<Long> prefixCandidates(String q) {
+        Set<Long> candidates = new HashSet<>();
+        for (Set<Long> ids : tokens.subMap(q, true, q + Character.MAX_VALUE, false).values()) {
+            candidates.addAll(ids);
+        }
+        return candidates;
+    }
+
+    private static int rankSubstring(Entry entry, String q, boolean includeSupplier) {
+        if (entry.name.equals(q)) return 0;
+        if (entry.name.startsWith(q)) return 1;
+        if (entry.name.contains(" " + q)) return 2;
+        if (entry.name.contains(q)) return 3;
+        if (entry.category.contains(q)) return 4;
+        if (includeSupplier && entry.supplier.contains(q)) return 5;
+        return -1;
+    }
+
+    private static int rankPrefix(Entry entry, String q, boolean includeSupplier) {
+        if (entry.name.equals(q)) return 0;
+        if (entry.name.startsWith(q)) return 1;
+        if (hasWordStartingWith(entry.name, q)) return 2;
+        if (hasWordStartingWith(entry.category, q)) return 4;
+        if (includeSupplier && hasWordStartingWith(entry.supplier, q)) return 5;
+        return -1;
+    }
+
+    private static boolean hasWordStartingWith(String text, String prefix) {
+        for (String word : words(text)) {
+            if (word.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void index(Entry entry) {
+        for (String field : entry.fields()) {
+            for (int i = 0; i + GRAM <= field.length(); i++) {
+                grams.computeIfAbsent(field.substring(i, i + GRAM), k -> new HashSet<>()).add(entry.id);
+            }
+            for (String word : words(field)) {
+                tokens.computeIfAbsent(word, k -> new HashSet<>()).add(entry.id);
+            }
+        }
+    }
+
+    private void unindex(Entry entry) {
+        for (String field : entry.fields()) {
+            for (int i = 0; i + GRAM <= field.length(); i++) {
+                removePosting(grams, field.substring(i, i + GRAM), entry.id);
+            }
+            for (String word : words(field)) {
+                removePosting(tokens, word, entry.id);
+            }
+        }
+    }
+
+    private static void removePosting(Map<String, Set<Long>> postings, String key, Long id) {
+        Set<Long> ids = postings.get(key);
+        if (ids != null && ids.remove(id) && ids.isEmpty()) {
+            postings.remove(key);
+        }
+    }
+
+    private static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        for (String word : text.split("[^\\p{L}\\p{N}]+")) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    private record Entry(Long id, String name, String category, String supplier) {
+        String[] fields() {
+            return new String[]{name, category, supplier};
+        }
+    }
+
+    private record Hit(Entry entry, int rank) {
+    }
+}
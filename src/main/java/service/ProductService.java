@@ -1,68 +1,206 @@
 package service;
 
 import dto.ProductDto;
+import dto.SupplierStockDto;
 import entity.Product;
+import entity.Supplier;
+import event.DomainEvent;
+import event.DomainEventBus;
 import repository.ProductRepository;
+import repository.SupplierRepository;
+import repository.UnitOfWork;
+import util.BackgroundExecutor;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 public class ProductService {
 
     private final ProductRepository productRepository = new ProductRepository();
+    private final SupplierRepository supplierRepository = new SupplierRepository();
+    private final ProductCatalogCache catalog = ProductCatalogCache.getInstance();
 
     public void addProduct(ProductDto dto) {
-        Product product = new Product();
-        product.setName(dto.getName());
-        product.setCategory(dto.getCategory());
-        product.setPrice(dto.getPrice());
-        product.setQuantity(dto.getQuantity());
-        product.setSupplier(dto.getSupplier());
-
-        productRepository.save(product);
+        Product product = UnitOfWork.inTransaction(session -> {
+            Product entity = toEntity(dto);
+            productRepository.save(entity);
+            return entity;
+        });
+        publishChanged(product);
     }
 
     public List<ProductDto> getAllProducts() {
-        return productRepository.findAll().stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return catalog.getAll();
     }
 
     public ProductDto getProductById(Long id) {
-        Product product = productRepository.findById(id);
-        return product != null ? convertToDto(product) : null;
+        return catalog.get(id);
     }
 
-    public void updateProduct(ProductDto dto) {
-        Product product = new Product();
-        product.setId(dto.getId());
-        product.setName(dto.getName());
-        product.setCategory(dto.getCategory());
-        product.setPrice(dto.getPrice());
-        product.setQuantity(dto.getQuantity());
-        product.setSupplier(dto.getSupplier());
+    /**
+     * Saves edits from the product form. Stock is applied as the change from
+     * {@code originalQuantity} (what the form was opened with), so units sold
+     * on other terminals in the meantime are not overwritten. Version
+     * conflicts with a concurrent sale are retried against the fresh row.
+     */
+    public void updateProduct(ProductDto dto, int originalQuantity) {
+        int stockDelta = dto.getQuantity() - originalQuantity;
+        Product saved = OptimisticRetry.call("Updating " + dto.getName(), () -> UnitOfWork.inTransaction(session -> {
+            Product product = requireProduct(dto.getId());
+            product.setName(dto.getName());
+            product.setCategory(dto.getCategory());
+            product.setPrice(dto.getPrice());
+            product.setSupplier(resolveSupplier(dto.getSupplierId()));
+            product.setBarcode(dto.getBarcode());
+            // A manual write-down larger than what is left after concurrent sales empties the shelf
+            product.setQuantity(Math.max(0, product.getQuantity() + stockDelta));
+            return product;
+        }));
+        publishChanged(saved);
+    }
 
-        productRepository.update(product);
+    /**
+     * Adds (or with a negative delta removes) stock, e.g. when a delivery is
+     * received. Retried on version conflicts.
+     */
+    public void adjustStock(Long productId, int delta) {
+        Product saved = OptimisticRetry.call("Adjusting stock", () -> UnitOfWork.inTransaction(session -> {
+            Product product = requireProduct(productId);
+            int quantity = product.getQuantity() + delta;
+            if (quantity < 0) {
+                throw new InsufficientStockException(productId, "Not enough stock left for " + product.getName() + "!");
+            }
+            product.setQuantity(quantity);
+            return product;
+        }));
+        ProductDto dto = convertToDto(saved);
+        catalog.put(dto);
+        DomainEventBus.publish(new DomainEvent.StockAdjusted(dto, delta));
     }
 
     public void deleteProduct(Long id) {
         productRepository.delete(id);
+        catalog.remove(id);
+        DomainEventBus.publish(new DomainEvent.ProductDeleted(id));
+    }
+
+    public ProductDto findByBarcode(String code) {
+        return catalog.findByBarcode(code);
+    }
+
+    public List<ProductDto> searchProducts(String query) {
+        return catalog.search(query, false);
+    }
+
+    public List<ProductDto> searchProducts(String query, boolean includeSupplier) {
+        return catalog.search(query, includeSupplier);
     }
 
     public List<ProductDto> getLowStockProducts() {
-        return productRepository.findAll().stream()
-                .filter(p -> p.getQuantity() < 10)
-                .map(this::convertToDto)
+        return catalog.getAll().stream()
+                .filter(p -> p.getQuantity() < StatsService.LOW_STOCK_THRESHOLD)
                 .collect(Collectors.toList());
     }
 
-    private ProductDto convertToDto(Product product) {
+    // Served by the database: the (supplier_id, quantity) index makes this a range scan
+    public List<ProductDto> getLowStockProductsBySupplier(Long supplierId) {
+        return productRepository.findLowStockDtosBySupplier(supplierId, StatsService.LOW_STOCK_THRESHOLD);
+    }
+
+    public List<SupplierStockDto> getStockBySupplier() {
+        return productRepository.findStockBySupplier();
+    }
+
+    // Non-blocking variants for the UI; results complete on a virtual thread
+
+    public CompletableFuture<Void> addProductAsync(ProductDto dto) {
+        return BackgroundExecutor.run(() -> addProduct(dto));
+    }
+
+    public CompletableFuture<List<ProductDto>> getAllProductsAsync() {
+        return BackgroundExecutor.supply(this::getAllProducts);
+    }
+
+    public CompletableFuture<Void> updateProductAsync(ProductDto dto, int originalQuantity) {
+        return BackgroundExecutor.run(() -> updateProduct(dto, originalQuantity));
+    }
+
+    public CompletableFuture<Void> adjustStockAsync(Long productId, int delta) {
+        return BackgroundExecutor.run(() -> adjustStock(productId, delta));
+    }
+
+    public CompletableFuture<Void> deleteProductAsync(Long id) {
+        return BackgroundExecutor.run(() -> deleteProduct(id));
+    }
+
+    public CompletableFuture<List<ProductDto>> searchProductsAsync(String query, boolean includeSupplier) {
+        return BackgroundExecutor.supply(() -> searchProducts(query, includeSupplier));
+    }
+
+    public CompletableFuture<List<ProductDto>> getLowStockProductsAsync() {
+        return BackgroundExecutor.supply(this::getLowStockProducts);
+    }
+
+    public CompletableFuture<List<ProductDto>> getLowStockProductsBySupplierAsync(Long supplierId) {
+        return BackgroundExecutor.supply(() -> getLowStockProductsBySupplier(supplierId));
+    }
+
+    public CompletableFuture<List<SupplierStockDto>> getStockBySupplierAsync() {
+        return BackgroundExecutor.supply(this::getStockBySupplier);
+    }
+
+    // Call after the write has committed
+    private void publishChanged(Product product) {
+        ProductDto dto = convertToDto(product);
+        catalog.put(dto);
+        DomainEventBus.publish(new DomainEvent.ProductChanged(dto));
+    }
+
+    private Product requireProduct(Long id) {
+        Product product = productRepository.findWithSupplier(id);
+        if (product == null) {
+            throw new IllegalArgumentException("Product " + id + " no longer exists");
+        }
+        return product;
+    }
+
+    // Call inside a unit of work so the supplier is managed by the same session as the product
+    private Supplier resolveSupplier(Long supplierId) {
+        if (supplierId == null) {
+            return null;
+        }
+        Supplier supplier = supplierRepository.findById(supplierId);
+        if (supplier == null) {
+            throw new IllegalArgumentException("Supplier " + supplierId + " no longer exists");
+        }
+        return supplier;
+    }
+
+    private Product toEntity(ProductDto dto) {
+        Product product = new Product();
+        product.setId(dto.getId());
+        product.setName(dto.getName());
+        product.setCategory(dto.getCategory());
+        product.setPrice(dto.getPrice());
+        product.setQuantity(dto.getQuantity());
+        product.setSupplier(resolveSupplier(dto.getSupplierId()));
+        product.setBarcode(dto.getBarcode());
+        product.setVersion(dto.getVersion());
+        return product;
+    }
+
+    static ProductDto convertToDto(Product product) {
+        Supplier supplier = product.getSupplier();
         return new ProductDto(
                 product.getId(),
                 product.getName(),
                 product.getCategory(),
                 product.getPrice(),
                 product.getQuantity(),
-                product.getSupplier()
+                supplier != null ? supplier.getId() : null,
+                supplier != null ? supplier.getName() : null,
+                product.getBarcode(),
+                product.getVersion()
         );
     }
 }
\ No newline at end of file
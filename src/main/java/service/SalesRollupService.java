@@ -0,0 +1,65 @@
+package service;
+
+import dto.SalesRollupDto;
+import entity.SalesRollupDaily;
+import entity.SalesRollupHourly;
+import repository.SalesRollupRepository;
+import util.BackgroundExecutor;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+public class SalesRollupService {
+
+    private final SalesRollupRepository rollupRepository = new SalesRollupRepository();
+
+    public List<SalesRollupDto> getHourlySales(LocalDateTime start, LocalDateTime end) {
+        return rollupRepository.findHourly(start, end).stream()
+                .map(this::convertToDto)
+                .collect(Collectors.toList());
+    }
+
+    public List<SalesRollupDto> getDailySales(LocalDate start, LocalDate end) {
+        return rollupRepository.findDaily(start, end).stream()
+                .map(this::convertToDto)
+                .collect(Collectors.toList());
+    }
+
+    public void rebuild() {
+        rollupRepository.rebuild();
+    }
+
+    public CompletableFuture<List<SalesRollupDto>> getHourlySalesAsync(LocalDateTime start, LocalDateTime end) {
+        return BackgroundExecutor.supply(() -> getHourlySales(start, end));
+    }
+
+    public CompletableFuture<List<SalesRollupDto>> getDailySalesAsync(LocalDate start, LocalDate end) {
+        return BackgroundExecutor.supply(() -> getDailySales(start, end));
+    }
+
+    public CompletableFuture<Void> rebuildAsync() {
+        return BackgroundExecutor.run(this::rebuild);
+    }
+
+    private SalesRollupDto convertToDto(SalesRollupHourly rollup) {
+        return new SalesRollupDto(
+                rollup.getBucketStart(),
+                rollup.getOrderCount(),
+                rollup.getTotalSales(),
+                rollup.getMinSale(),
+                rollup.getMaxSale()
+        );
+    }
+
+    private SalesRollupDto convertToDto(SalesRollupDaily rollup) {
+        return new SalesRollupDto(
+                rollup.getBucketDate().atStartOfDay(),
+                rollup.getOrderCount(),
+                rollup.getTotalSales(),
+                rollup.getMinSale(),
+                rollup.getMaxSale()
+        );
+    }
+}
@@ -0,0 +1,140 @@
+package service;
+
+import dto.CacheStatsDto;
+import dto.DashboardStatsDto;
+import dto.PoolStatsDto;
+import dto.SqlActionStatsDto;
+import dto.SqlStatementStatsDto;
+import org.hibernate.Session;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import util.BackgroundExecutor;
+import util.HibernateUtil;
+import util.PoolMetrics;
+import util.SqlMetrics;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+
+public class StatsService {
+
+    public static final int LOW_STOCK_THRESHOLD = 10;
+
+    // All KPIs in one round-trip. Today's sales come from a primary-key lookup
+    // in the daily rollup, so the cost does not grow with order volume.
+    private static final String DASHBOARD_SQL =
+            "SELECT " +
+            "(SELECT COALESCE(SUM(totalSales), 0) FROM sales_rollup_daily WHERE bucketDate = :today), " +
+            "(SELECT COALESCE(SUM(orderCount), 0) FROM sales_rollup_daily WHERE bucketDate = :today), " +
+            "(SELECT COUNT(*) FROM products), " +
+            "(SELECT COUNT(*) FROM products WHERE quantity < :lowStock), " +
+            "(SELECT COALESCE(SUM(price * quantity), 0) FROM products)";
+
+    public DashboardStatsDto getDashboardStats() {
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            Object[] row = session.createNativeQuery(DASHBOARD_SQL, Object[].class)
+                    .setParameter("today", LocalDate.now())
+                    .setParameter("lowStock", LOW_STOCK_THRESHOLD)
+                    .getSingleResult();
+
+            return new DashboardStatsDto(
+                    ((Number) row[0]).doubleValue(),
+                    ((Number) row[1]).longValue(),
+                    ((Number) row[2]).longValue(),
+                    ((Number) row[3]).longValue(),
+                    ((Number) row[4]).doubleValue()
+            );
+        }
+    }
+
+    /**
+     * Hit/miss counts for every second-level cache region, the query cache as
+     * a whole and the in-memory product catalog.
+     */
+    public List<CacheStatsDto> getCacheStats() {
+        Statistics statistics = HibernateUtil.getSessionFactory().getStatistics();
+        List<CacheStatsDto> result = new ArrayList<>();
+
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics regionStats = statistics.getCacheRegionStatistics(region);
+            if (regionStats != null) {
+                result.add(toDto(region, regionStats.getHitCount(), regionStats.getMissCount(), regionStats.getPutCount()));
+            }
+        }
+        result.add(toDto("(all queries)", statistics.getQueryCacheHitCount(),
+                statistics.getQueryCacheMissCount(), statistics.getQueryCachePutCount()));
+
+        ProductCatalogCache catalog = ProductCatalogCache.getInstance();
+        result.add(toDto("(product catalog)", catalog.getHitCount(), catalog.getMissCount(), catalog.getPutCount()));
+        return result;
+    }
+
+    public PoolStatsDto getPoolStats() {
+        PoolMetrics pool = PoolMetrics.getInstance();
+        return new PoolStatsDto(
+                pool.getActiveConnections(),
+                pool.getIdleConnections(),
+                pool.getWaitingThreads(),
+                pool.getTotalConnections(),
+                pool.getAverageAcquireMillis(),
+                pool.getMaxAcquireMillis(),
+                pool.getTimeoutCount()
+        );
+    }
+
+    public List<SqlActionStatsDto> getSqlActionStats() {
+        return SqlMetrics.getInstance().getActionStats().stream()
+                .map(stats -> new SqlActionStatsDto(
+                        stats.getAction(),
+                        stats.getStatementCount(),
+                        stats.getExecutionCount(),
+                        stats.getTotalMillis(),
+                        stats.getSlowCount()))
+                .collect(Collectors.toList());
+    }
+
+    public long getSlowQueryThresholdMillis() {
+        return SqlMetrics.getInstance().getSlowThresholdMillis();
+    }
+
+    public long getOptimisticConflictCount() {
+        return OptimisticRetry.getConflictCount();
+    }
+
+    public long getOptimisticRetryCount() {
+        return OptimisticRetry.getRetryCount();
+    }
+
+    public long getOptimisticFailureCount() {
+        return OptimisticRetry.getFailureCount();
+    }
+
+    // Most expensive statements first, by total time spent
+    public List<SqlStatementStatsDto> getSqlStatementStats(int limit) {
+        return SqlMetrics.getInstance().getStatementStats().stream()
+                .limit(limit)
+                .map(stats -> new SqlStatementStatsDto(
+                        stats.getSql(),
+                        stats.getCount(),
+                        stats.getAverageMillis(),
+                        stats.getPercentileMillis(95),
+                        stats.getMaxMillis()))
+                .collect(Collectors.toList());
+    }
+
+    public CompletableFuture<DashboardStatsDto> getDashboardStatsAsync() {
+        return BackgroundExecutor.supply(this::getDashboardStats);
+    }
+
+    public CompletableFuture<List<CacheStatsDto>> getCacheStatsAsync() {
+        return BackgroundExecutor.supply(this::getCacheStats);
+    }
+
+    private static CacheStatsDto toDto(String region, long hits, long misses, long puts) {
+        long lookups = hits + misses;
+        return new CacheStatsDto(region, hits, misses, puts, lookups == 0 ? 0.0 : (double) hits / lookups);
+    }
+}
@@ -1,14 +1,22 @@
 package service;
 
+import dto.ProductDto;
 import dto.SupplierDto;
 import entity.Supplier;
+import event.DomainEvent;
+import event.DomainEventBus;
+import repository.ProductRepository;
 import repository.SupplierRepository;
+import repository.UnitOfWork;
+import util.BackgroundExecutor;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
 
 public class SupplierService {
 
     private final SupplierRepository supplierRepository = new SupplierRepository();
+    private final ProductRepository productRepository = new ProductRepository();
+    private final ProductCatalogCache catalog = ProductCatalogCache.getInstance();
 
     public void addSupplier(SupplierDto dto) {
         Supplier supplier = new Supplier();
@@ -19,12 +27,11 @@ public class SupplierService {
         supplier.setActive(true);
 
         supplierRepository.save(supplier);
+        DomainEventBus.publish(new DomainEvent.SupplierChanged(convertToDto(supplier)));
     }
 
     public List<SupplierDto> getAllSuppliers() {
-        return supplierRepository.findAll().stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return supplierRepository.findAllDtos();
     }
 
     public SupplierDto getSupplierById(Long id) {
@@ -40,12 +47,46 @@ public class SupplierService {
         supplier.setPhone(dto.getPhone());
         supplier.setAddress(dto.getAddress());
         supplier.setActive(dto.getActive());
+        supplier.setVersion(dto.getVersion());
 
-        supplierRepository.update(supplier);
+        // Single attempt: retrying a blind overwrite would just discard the other edit
+        Supplier saved = OptimisticRetry.call("Updating " + dto.getName(), 1, () -> supplierRepository.update(supplier));
+        DomainEventBus.publish(new DomainEvent.SupplierChanged(convertToDto(saved)));
+        publishProductsChanged(catalog.renameSupplier(dto.getId(), dto.getName()));
     }
 
     public void deleteSupplier(Long id) {
-        supplierRepository.delete(id);
+        UnitOfWork.run(session -> {
+            productRepository.clearSupplier(id);
+            supplierRepository.delete(id);
+        });
+        DomainEventBus.publish(new DomainEvent.SupplierDeleted(id));
+        publishProductsChanged(catalog.unlinkSupplier(id));
+    }
+
+    // Non-blocking variants for the UI; results complete on a virtual thread
+
+    public CompletableFuture<Void> addSupplierAsync(SupplierDto dto) {
+        return BackgroundExecutor.run(() -> addSupplier(dto));
+    }
+
+    public CompletableFuture<List<SupplierDto>> getAllSuppliersAsync() {
+        return BackgroundExecutor.supply(this::getAllSuppliers);
+    }
+
+    public CompletableFuture<Void> updateSupplierAsync(SupplierDto dto) {
+        return BackgroundExecutor.run(() -> updateSupplier(dto));
+    }
+
+    public CompletableFuture<Void> deleteSupplierAsync(Long id) {
+        return BackgroundExecutor.run(() -> deleteSupplier(id));
+    }
+
+    // Products show the supplier's name, so their rows change with it
+    private void publishProductsChanged(List<ProductDto> products) {
+        for (ProductDto product : products) {
+            DomainEventBus.publish(new DomainEvent.ProductChanged(product));
+        }
     }
 
     private SupplierDto convertToDto(Supplier supplier) {
@@ -55,7 +96,8 @@ public class SupplierService {
                 supplier.getEmail(),
                 supplier.getPhone(),
                 supplier.getAddress(),
-                supplier.getActive()
+                supplier.getActive(),
+                supplier.getVersion()
         );
     }
 }
\ No newline at end of file
@@ -0,0 +1,73 @@
+package util;
+
+import java.util.function.Supplier;
+
+/**
+ * Names the UI action (controller method) that a piece of database work
+ * belongs to, so SQL metrics can be grouped by screen. The name is captured
+ * on the FX thread when background work is submitted and carried over to the
+ * virtual thread that runs it.
+ */
+public class ActionTracker {
+
+    private static final String CONTROLLER_PACKAGE = "controller.";
+    private static final String UNKNOWN = "(background)";
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+    private static final StackWalker WALKER = StackWalker.getInstance();
+
+    /**
+     * The action bound to this thread, or the nearest controller method on
+     * the call stack when nothing is bound.
+     */
+    public static String current() {
+        String action = capture();
+        return action != null ? action : UNKNOWN;
+    }
+
+    public static <T> Supplier<T> bind(Supplier<T> task) {
+        String action = capture();
+        return () -> {
+            String previous = CURRENT.get();
+            CURRENT.set(action);
+            try {
+                return task.get();
+            } finally {
+                CURRENT.set(previous);
+            }
+        };
+    }
+
+    public static Runnable bind(Runnable task) {
+        Supplier<Void> bound = bind(() -> {
+            task.run();
+            return null;
+        });
+        return bound::get;
+    }
+
+    private static String capture() {
+        String bound = CURRENT.get();
+        if (bound != null) {
+            return bound;
+        }
+        return WALKER.walk(frames -> frames
+                .filter(frame -> frame.getClassName().startsWith(CONTROLLER_PACKAGE))
+                .findFirst()
+                .map(frame -> describe(frame.getClassName(), frame.getMethodName()))
+                .orElse(null));
+    }
+
+    // "controller.ProductsController$1", "lambda$initialize$2" -> "ProductsController.initialize"
+    private static String describe(String className, String methodName) {
+        String simpleName = className.substring(CONTROLLER_PACKAGE.length());
+        int inner = simpleName.indexOf('$');
+        if (inner > 0) {
+            simpleName = simpleName.substring(0, inner);
+        }
+        if (methodName.startsWith("lambda$")) {
+            int end = methodName.indexOf('$', "lambda$".length());
+            methodName = end > 0 ? methodName.substring("lambda$".length(), end) : methodName;
+        }
+        return simpleName + "." + methodName;
+    }
+}
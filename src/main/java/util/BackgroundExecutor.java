@@ -0,0 +1,45 @@
+package util;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Shared executor for blocking work (database calls, file I/O) that must stay
+ * off the JavaFX Application Thread. Every task gets its own virtual thread,
+ * so a slow query never holds up other screens.
+ */
+public class BackgroundExecutor {
+
+    private static final ExecutorService EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+
+    // Hibernate bootstrap blocks while holding monitors, which pins virtual
+    // threads; on a machine with few cores that can starve the task it waits for
+    private static final ExecutorService STARTUP = Executors.newCachedThreadPool(
+            Thread.ofPlatform().name("startup-", 0).daemon(true).factory());
+
+    public static <T> CompletableFuture<T> supply(Supplier<T> task) {
+        // Carry the submitting controller action over so SQL metrics can attribute the work
+        return CompletableFuture.supplyAsync(ActionTracker.bind(task), EXECUTOR);
+    }
+
+    public static CompletableFuture<Void> run(Runnable task) {
+        return CompletableFuture.runAsync(ActionTracker.bind(task), EXECUTOR);
+    }
+
+    public static ExecutorService executor() {
+        return EXECUTOR;
+    }
+
+    // Platform threads for the parallel boot tasks
+    public static Executor startup() {
+        return STARTUP;
+    }
+
+    public static void shutdown() {
+        STARTUP.shutdown();
+        EXECUTOR.shutdown();
+    }
+}
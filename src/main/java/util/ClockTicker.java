@@ -0,0 +1,168 @@
+package util;
+
+import javafx.application.Platform;
+import javafx.beans.value.ChangeListener;
+import javafx.event.EventHandler;
+import javafx.scene.Scene;
+import javafx.scene.control.Labeled;
+import javafx.stage.Window;
+import javafx.stage.WindowEvent;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Application-wide clock for date/time labels.
+ * <p>
+ * One daemon thread ticks every second and formats the time once for all
+ * subscribers; labels are only touched when the formatted text changes. A
+ * label unsubscribes itself when its window is closed, its scene is taken
+ * off the window, or its view is swapped out of the scene. The listeners
+ * that detect this are removed again on unsubscribe, so the shared Scene and
+ * Stage never keep a label (or the controller behind it) alive. The ticker
+ * stops while nobody is subscribed.
+ * <p>
+ * {@link #subscribe} and {@link #unsubscribe} must be called on the FX thread.
+ */
+public class ClockTicker {
+
+    private static final ClockTicker INSTANCE = new ClockTicker();
+
+    private static final DateTimeFormatter FORMAT = DateTimeFormatter.ofPattern("MMMM d, yyyy - hh:mm a");
+
+    // Only touched on the FX thread
+    private final Map<Labeled, Watch> subscribers = new LinkedHashMap<>();
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "clock-ticker");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private ScheduledFuture<?> task;
+    private volatile String lastText = "";
+
+    private ClockTicker() {
+    }
+
+    public static ClockTicker getInstance() {
+        return INSTANCE;
+    }
+
+    public void subscribe(Labeled label) {
+        if (subscribers.containsKey(label)) {
+            return;
+        }
+        Watch watch = new Watch(label);
+        subscribers.put(label, watch);
+        lastText = format();
+        label.setText(lastText);
+        watch.attach();
+
+        if (task == null) {
+            task = scheduler.scheduleAtFixedRate(this::tick, 1, 1, TimeUnit.SECONDS);
+        }
+    }
+
+    public void unsubscribe(Labeled label) {
+        Watch watch = subscribers.remove(label);
+        if (watch == null) {
+            return;
+        }
+        watch.detach();
+        if (subscribers.isEmpty() && task != null) {
+            task.cancel(false);
+            task = null;
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    private void tick() {
+        String text = format();
+        if (text.equals(lastText)) {
+            return;
+        }
+        lastText = text;
+        Platform.runLater(() -> {
+            for (Labeled label : subscribers.keySet()) {
+                label.setText(text);
+            }
+        });
+    }
+
+    /**
+     * Follows one subscribed label's scene and window and unsubscribes the
+     * label when it leaves them. Holds at most one listener on each.
+     */
+    private final class Watch {
+
+        private final Labeled label;
+        private final ChangeListener<Scene> sceneListener;
+        private final ChangeListener<Window> windowListener;
+        private final EventHandler<WindowEvent> hiddenHandler;
+        private Scene scene;
+        private Window window;
+
+        Watch(Labeled label) {
+            this.label = label;
+            this.sceneListener = (obs, oldScene, newScene) -> {
+                watchScene(newScene);
+                if (newScene == null) {
+                    unsubscribe(label);
+                }
+            };
+            this.windowListener = (obs, oldWindow, newWindow) -> {
+                watchWindow(newWindow);
+                if (newWindow == null) {
+                    unsubscribe(label);
+                }
+            };
+            this.hiddenHandler = event -> unsubscribe(label);
+        }
+
+        // Subscribing from initialize() happens before the view is in a scene, so no scene is not a reason to stop
+        void attach() {
+            label.sceneProperty().addListener(sceneListener);
+            watchScene(label.getScene());
+        }
+
+        void detach() {
+            label.sceneProperty().removeListener(sceneListener);
+            watchScene(null);
+        }
+
+        private void watchScene(Scene next) {
+            if (scene != null) {
+                scene.windowProperty().removeListener(windowListener);
+            }
+            scene = next;
+            if (scene != null) {
+                scene.windowProperty().addListener(windowListener);
+            }
+            watchWindow(scene != null ? scene.getWindow() : null);
+        }
+
+        private void watchWindow(Window next) {
+            if (window != null) {
+                window.removeEventHandler(WindowEvent.WINDOW_HIDDEN, hiddenHandler);
+            }
+            window = next;
+            if (window != null) {
+                window.addEventHandler(WindowEvent.WINDOW_HIDDEN, hiddenHandler);
+            }
+        }
+    }
+
+    private static String format() {
+        return LocalDateTime.now().format(FORMAT);
+    }
+}
@@ -1,57 +1,122 @@
 package util;
 
-import entity.User;
-import org.hibernate.Session;
-import org.hibernate.Transaction;
-import org.hibernate.query.Query;
-import org.mindrot.jbcrypt.BCrypt;
+import repository.SalesRollupRepository;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 public class DatabaseInitializer {
 
-    public static void initializeDatabase() {
-        Session session = null;
-        Transaction transaction = null;
+    // Must match the allocationSize of the @TableGenerator mappings
+    private static final int ID_ALLOCATION_SIZE = 50;
 
-        try {
-            session = HibernateUtil.getSessionFactory().openSession();
-            transaction = session.beginTransaction();
-
-            // Check if admin user already exists
-            Query<User> query = session.createQuery("FROM User WHERE username = :username", User.class);
-            query.setParameter("username", "admin");
-            User existingAdmin = query.uniqueResult();
-
-            if (existingAdmin == null) {
-                // Create default admin user
-                User admin = new User();
-                admin.setUsername("admin");
-                admin.setPassword(BCrypt.hashpw("admin123", BCrypt.gensalt())); // Hashed password
-                admin.setFullName("System Administrator");
-                admin.setRole("ADMIN");
-                admin.setActive(true);
-
-                session.persist(admin);
-                System.out.println("✅ Default admin user created successfully!");
-                System.out.println("   Username: admin");
-                System.out.println("   Password: admin123");
-            } else {
-                System.out.println("✅ Admin user already exists");
+    private static CompletableFuture<Void> ready;
+
+    /**
+     * Starts the database boot on background threads and returns at once.
+     * BCrypt cost calibration starts right away. The admin-user check runs
+     * over plain JDBC as soon as migrations are done, in parallel with the
+     * SessionFactory build; the sales rollup backfill follows once both have
+     * finished.
+     */
+    public static synchronized CompletableFuture<Void> initializeAsync() {
+        if (ready == null) {
+            Executor executor = BackgroundExecutor.startup();
+            // Picks the hash cost for this host while Hibernate boots
+            CompletableFuture.runAsync(() -> StartupTimings.time("bcrypt calibration", PasswordHasher::calibrate), executor);
+            CompletableFuture<Void> seeded = HibernateUtil.migratedDataSourceAsync()
+                    .thenAcceptAsync(dataSource -> StartupTimings.time("admin check", () -> initializeDatabase(dataSource)), executor);
+            ready = HibernateUtil.initAsync()
+                    .thenCombine(seeded, (factory, done) -> factory)
+                    .thenRunAsync(() -> StartupTimings.time("sales rollups", DatabaseInitializer::backfillSalesRollups), executor)
+                    .thenRun(() -> StartupTimings.mark("database ready"));
+        }
+        return ready;
+    }
+
+    // Completes once the database can serve logins; fails if Hibernate could not start
+    public static CompletableFuture<Void> ready() {
+        return initializeAsync();
+    }
+
+    private static void initializeDatabase(DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                // Continue pooled ids after rows created with AUTO_INCREMENT
+                seedIdGenerator(connection, "products", "products");
+                seedIdGenerator(connection, "orders", "orders");
+                seedIdGenerator(connection, "order_items", "order_items");
+
+                if (!adminExists(connection)) {
+                    createAdmin(connection);
+                    System.out.println("✅ Default admin user created successfully!");
+                } else {
+                    System.out.println("✅ Admin user already exists");
+                }
                 System.out.println("   Username: admin");
                 System.out.println("   Password: admin123");
-            }
 
-            transaction.commit();
-
-        } catch (Exception e) {
-            if (transaction != null) {
-                transaction.rollback();
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
             }
+        } catch (SQLException e) {
             System.err.println("❌ Error initializing database: " + e.getMessage());
             e.printStackTrace();
-        } finally {
-            if (session != null) {
-                session.close();
+        }
+    }
+
+    private static boolean adminExists(Connection connection) throws SQLException {
+        try (PreparedStatement query = connection.prepareStatement("SELECT 1 FROM users WHERE username = ?")) {
+            query.setString(1, "admin");
+            try (ResultSet rs = query.executeQuery()) {
+                return rs.next();
             }
         }
     }
-}
\ No newline at end of file
+
+    private static void createAdmin(Connection connection) throws SQLException {
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO users (username, password, fullName, role, active, version) VALUES (?, ?, ?, ?, ?, 0)")) {
+            insert.setString(1, "admin");
+            insert.setString(2, PasswordHasher.hash("admin123")); // Hashed password
+            insert.setString(3, "System Administrator");
+            insert.setString(4, "ADMIN");
+            insert.setBoolean(5, true);
+            insert.executeUpdate();
+        }
+    }
+
+    // Orders placed before the rollup tables existed are only counted after a rebuild
+    private static void backfillSalesRollups() {
+        try {
+            SalesRollupRepository rollupRepository = new SalesRollupRepository();
+            if (rollupRepository.isEmpty()) {
+                System.out.println("Building sales rollups...");
+                rollupRepository.rebuild();
+            }
+        } catch (Exception e) {
+            System.err.println("❌ Error building sales rollups: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    private static void seedIdGenerator(Connection connection, String generatorName, String tableName) throws SQLException {
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO id_generators (gen_name, gen_value) " +
+                        "SELECT ?, COALESCE(MAX(id), 0) + ? FROM " + tableName + " " +
+                        "WHERE NOT EXISTS (SELECT 1 FROM id_generators WHERE gen_name = ?)")) {
+            insert.setString(1, generatorName);
+            insert.setInt(2, ID_ALLOCATION_SIZE);
+            insert.setString(3, generatorName);
+            insert.executeUpdate();
+        }
+    }
+}
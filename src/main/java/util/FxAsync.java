@@ -0,0 +1,87 @@
+package util;
+
+import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.scene.control.Alert;
+import javafx.scene.control.Label;
+import javafx.scene.control.Labeled;
+import javafx.scene.control.TableView;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+/**
+ * Applies the results of background work on the JavaFX Application Thread and
+ * shows loading placeholders while it runs.
+ */
+public class FxAsync {
+
+    private static final String LOADING = "…";
+
+    /**
+     * Runs {@code onSuccess} on the FX thread once the future completes; failures
+     * are reported in an error dialog.
+     */
+    public static <T> void then(CompletableFuture<T> future, Consumer<T> onSuccess) {
+        then(future, onSuccess, FxAsync::showError);
+    }
+
+    public static <T> void then(CompletableFuture<T> future, Consumer<T> onSuccess, Consumer<Throwable> onError) {
+        future.whenComplete((result, error) -> Platform.runLater(() -> {
+            if (error != null) {
+                onError.accept(unwrap(error));
+            } else {
+                onSuccess.accept(result);
+            }
+        }));
+    }
+
+    /**
+     * Shows a loading placeholder in the table, then fills it with the result.
+     */
+    public static <T> void fill(TableView<T> table, CompletableFuture<? extends List<T>> future) {
+        fill(table, future, () -> true);
+    }
+
+    /**
+     * As above, but drops the result if {@code stillCurrent} is false by the
+     * time it arrives, e.g. because a newer search was started meanwhile.
+     */
+    public static <T> void fill(TableView<T> table, CompletableFuture<? extends List<T>> future,
+                                BooleanSupplier stillCurrent) {
+        table.setPlaceholder(new Label("Loading..."));
+        then(future, items -> {
+            if (!stillCurrent.getAsBoolean()) {
+                return;
+            }
+            table.setPlaceholder(new Label("No content in table"));
+            table.setItems(FXCollections.observableArrayList(items));
+        });
+    }
+
+    public static void loading(Labeled... labels) {
+        for (Labeled label : labels) {
+            if (label != null) {
+                label.setText(LOADING);
+            }
+        }
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    private static void showError(Throwable error) {
+        System.err.println("❌ Background task failed: " + error.getMessage());
+        error.printStackTrace();
+
+        Alert alert = new Alert(Alert.AlertType.ERROR);
+        alert.setTitle("Error");
+        alert.setHeaderText(null);
+        alert.setContentText("Failed to load data: " + error.getMessage());
+        alert.showAndWait();
+    }
+}
@@ -1,30 +1,264 @@
 package util;
 
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
 import org.hibernate.SessionFactory;
-import org.hibernate.cfg.Configuration;
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
 
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.BiConsumer;
+import java.util.logging.Logger;
+
+/**
+ * Owns the connection pool and the SessionFactory. Nothing is built on class
+ * load: {@link #initAsync()} starts the boot on background threads and
+ * {@link #getSessionFactory()} waits for it, so the first window can be shown
+ * while Hibernate is still starting.
+ */
 public class HibernateUtil {
 
-    private static SessionFactory sessionFactory;
+    private static final String HIKARI_PREFIX = "hibernate.hikari.";
+    private static final String SLOW_QUERY_THRESHOLD = "clothify.sql.slow_threshold_ms";
 
-    static {
-        try {
-            sessionFactory = new Configuration()
-                    .configure("hibernate.cfg.xml")
-                    .buildSessionFactory();
-        } catch (Exception e) {
-            System.err.println("SessionFactory creation failed: " + e);
-            throw new ExceptionInInitializerError(e);
+    private static final CompletableFuture<HikariDataSource> pool = new CompletableFuture<>();
+    private static final CompletableFuture<DataSource> migrated = new CompletableFuture<>();
+    private static final CompletableFuture<SessionFactory> sessionFactory = new CompletableFuture<>();
+    private static boolean started;
+    private static volatile StandardServiceRegistry registry;
+
+    /**
+     * Starts the boot if it has not started yet and returns the future
+     * SessionFactory. Three tasks run in parallel once the pool is up:
+     * schema migrations, pool warm-up, and building the mapping metadata
+     * (which does not depend on the schema). The SessionFactory itself, which
+     * validates the schema, is built once metadata and migrations are done.
+     */
+    public static synchronized CompletableFuture<SessionFactory> initAsync() {
+        if (started) {
+            return sessionFactory;
         }
+        started = true;
+
+        Executor executor = BackgroundExecutor.startup();
+        CompletableFuture<StandardServiceRegistryBuilder> config = CompletableFuture.supplyAsync(
+                () -> StartupTimings.time("hibernate config", HibernateUtil::loadConfiguration), executor);
+
+        config.thenApplyAsync(builder -> StartupTimings.time("connection pool", () -> createDataSource(builder.getSettings())), executor)
+                .whenComplete(HibernateUtil.completing(pool));
+
+        pool.thenAcceptAsync(dataSource -> StartupTimings.time("schema migrations", () -> SchemaMigrator.migrate(dataSource)), executor)
+                .thenApply(done -> (DataSource) pool.join())
+                .whenComplete(HibernateUtil.completing(migrated));
+
+        pool.thenAcceptAsync(dataSource -> StartupTimings.time("pool warm-up", () -> warmUp(dataSource)), executor)
+                .exceptionally(e -> {
+                    // Only a head start; the pool still opens connections on demand.
+                    // A pool that failed to start is reported by the SessionFactory build.
+                    if (!pool.isCompletedExceptionally()) {
+                        System.err.println("Connection pool warm-up failed: " + e.getMessage());
+                    }
+                    return null;
+                });
+
+        CompletableFuture<Metadata> metadata = config.thenApplyAsync(builder -> StartupTimings.time("mapping metadata", () -> {
+            registry = builder.build();
+            return new MetadataSources(registry).buildMetadata();
+        }), executor);
+
+        metadata.thenCombine(migrated, (built, dataSource) -> built)
+                .thenApplyAsync(built -> StartupTimings.time("session factory", built::buildSessionFactory), executor)
+                .whenComplete((factory, error) -> {
+                    if (error != null) {
+                        System.err.println("SessionFactory creation failed: " + unwrap(error));
+                        shutdown();
+                    }
+                })
+                .whenComplete(HibernateUtil.completing(sessionFactory));
+        return sessionFactory;
+    }
+
+    private static StandardServiceRegistryBuilder loadConfiguration() {
+        StandardServiceRegistryBuilder builder = new StandardServiceRegistryBuilder().configure("hibernate.cfg.xml");
+
+        Object slowThreshold = builder.getSettings().get(SLOW_QUERY_THRESHOLD);
+        if (slowThreshold != null) {
+            SqlMetrics.getInstance().setSlowThresholdMillis(Long.parseLong(slowThreshold.toString().trim()));
+        }
+
+        // Hibernate is handed the pool instead of opening its own connections
+        // with the built-in (non-production) pool. Until the pool exists, the
+        // metadata build simply waits for its first connection.
+        builder.applySetting(AvailableSettings.JAKARTA_NON_JTA_DATASOURCE, new TimingDataSource(new PendingDataSource()));
+        return builder;
     }
 
+    /**
+     * The raw pool once schema migrations are done, for startup work that uses
+     * plain JDBC and need not wait for the SessionFactory.
+     */
+    public static CompletableFuture<DataSource> migratedDataSourceAsync() {
+        initAsync();
+        return migrated;
+    }
+
+    /**
+     * Builds the HikariCP pool from the connection settings in
+     * hibernate.cfg.xml. Every {@code hibernate.hikari.*} property is passed
+     * to HikariConfig with the prefix removed, so
+     * {@code hibernate.hikari.dataSource.cachePrepStmts} becomes a driver
+     * property.
+     */
+    private static HikariDataSource createDataSource(Map<String, Object> settings) {
+        Properties hikariProperties = new Properties();
+        settings.forEach((name, value) -> {
+            if (name.startsWith(HIKARI_PREFIX)) {
+                hikariProperties.setProperty(name.substring(HIKARI_PREFIX.length()), String.valueOf(value));
+            }
+        });
+
+        HikariConfig config = new HikariConfig(hikariProperties);
+        config.setJdbcUrl(setting(settings, AvailableSettings.JAKARTA_JDBC_URL, null));
+        config.setUsername(setting(settings, AvailableSettings.JAKARTA_JDBC_USER, null));
+        config.setPassword(setting(settings, AvailableSettings.JAKARTA_JDBC_PASSWORD, ""));
+        config.setDriverClassName(setting(settings, AvailableSettings.JAKARTA_JDBC_DRIVER, null));
+        config.setMetricsTrackerFactory(PoolMetrics.getInstance());
+        return new HikariDataSource(config);
+    }
+
+    private static String setting(Map<String, Object> settings, String name, String defaultValue) {
+        Object value = settings.get(name);
+        return value != null ? value.toString() : defaultValue;
+    }
+
+    // Blocks until the boot has finished; prefer awaiting initAsync() on the FX thread
     public static SessionFactory getSessionFactory() {
-        return sessionFactory;
+        try {
+            return initAsync().join();
+        } catch (CompletionException e) {
+            throw new IllegalStateException("Database is not available: " + unwrap(e).getMessage(), unwrap(e));
+        }
     }
 
     public static void shutdown() {
-        if (sessionFactory != null) {
-            sessionFactory.close();
+        SessionFactory factory = sessionFactory.getNow(null);
+        if (factory != null) {
+            factory.close();
+        }
+        if (registry != null) {
+            StandardServiceRegistryBuilder.destroy(registry);
+        }
+        HikariDataSource dataSource = pool.getNow(null);
+        if (dataSource != null) {
+            dataSource.close();
+        }
+    }
+
+    // Opens the minimum idle connections up front so the first screens do not pay for the TCP and auth handshakes
+    private static void warmUp(HikariDataSource dataSource) {
+        List<Connection> held = new ArrayList<>();
+        try {
+            for (int i = 0; i < dataSource.getMinimumIdle(); i++) {
+                held.add(dataSource.getConnection());
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        } finally {
+            for (Connection connection : held) {
+                try {
+                    connection.close();
+                } catch (SQLException ignored) {
+                    // Returned to the pool either way
+                }
+            }
+        }
+    }
+
+    private static <T> BiConsumer<T, Throwable> completing(CompletableFuture<? super T> target) {
+        return (value, error) -> {
+            if (error != null) {
+                target.completeExceptionally(unwrap(error));
+            } else {
+                target.complete(value);
+            }
+        };
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    /**
+     * Stands in for the pool while it is still starting, so Hibernate can be
+     * configured before the first connection exists.
+     */
+    private static class PendingDataSource implements DataSource {
+
+        private DataSource await() throws SQLException {
+            try {
+                return pool.join();
+            } catch (CompletionException e) {
+                throw new SQLException("Connection pool failed to start", HibernateUtil.unwrap(e));
+            }
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return await().getConnection();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return await().getConnection(username, password);
+        }
+
+        @Override
+        public PrintWriter getLogWriter() throws SQLException {
+            return await().getLogWriter();
+        }
+
+        @Override
+        public void setLogWriter(PrintWriter out) throws SQLException {
+            await().setLogWriter(out);
+        }
+
+        @Override
+        public void setLoginTimeout(int seconds) throws SQLException {
+            await().setLoginTimeout(seconds);
+        }
+
+        @Override
+        public int getLoginTimeout() throws SQLException {
+            return await().getLoginTimeout();
+        }
+
+        @Override
+        public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+            throw new SQLFeatureNotSupportedException();
+        }
+
+        @Override
+        public <T> T unwrap(Class<T> type) throws SQLException {
+            return await().unwrap(type);
+        }
+
+        @Override
+        public boolean isWrapperFor(Class<?> type) throws SQLException {
+            return await().isWrapperFor(type);
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,94 @@
+package util;
+
+import org.mindrot.jbcrypt.BCrypt;
+
+/**
+ * BCrypt hashing with a work factor calibrated to this machine.
+ * <p>
+ * {@link #calibrate()} times a cheap hash and picks the highest cost whose
+ * estimated hash time stays within the target latency (system property
+ * {@code clothify.bcrypt.target_ms}, default 250). Each cost step doubles the
+ * work, so one measurement is enough to extrapolate. The cost never drops
+ * below {@link #MIN_COST}, even on slow hardware.
+ */
+public final class PasswordHasher {
+
+    public static final int MIN_COST = 10;
+    public static final int MAX_COST = 16;
+
+    private static final long TARGET_MILLIS = Long.getLong("clothify.bcrypt.target_ms", 250);
+    // High enough that fixed per-hash overhead does not skew the extrapolation
+    private static final int PROBE_COST = 8;
+    private static final int PROBE_RUNS = 3;
+
+    private static volatile int cost;
+
+    private PasswordHasher() {
+    }
+
+    /**
+     * Measures this host and fixes the cost used for new hashes. Called once
+     * during startup; later calls return the cached value.
+     */
+    public static synchronized int calibrate() {
+        if (cost != 0) {
+            return cost;
+        }
+        // Warm up the JIT so the probe measures compiled code
+        for (int i = 0; i < PROBE_RUNS; i++) {
+            BCrypt.hashpw("calibration", BCrypt.gensalt(PROBE_COST - 2));
+        }
+        long fastest = Long.MAX_VALUE;
+        for (int i = 0; i < PROBE_RUNS; i++) {
+            long start = System.nanoTime();
+            BCrypt.hashpw("calibration", BCrypt.gensalt(PROBE_COST));
+            fastest = Math.min(fastest, System.nanoTime() - start);
+        }
+
+        double targetNanos = TARGET_MILLIS * 1_000_000.0;
+        int chosen = PROBE_COST;
+        while (chosen < MAX_COST && fastest * Math.pow(2, chosen + 1 - PROBE_COST) <= targetNanos) {
+            chosen++;
+        }
+        cost = Math.max(MIN_COST, chosen);
+        System.out.printf("🔐 BCrypt cost %d (~%.0f ms per hash, target %d ms)%n",
+                cost, fastest * Math.pow(2, cost - PROBE_COST) / 1e6, TARGET_MILLIS);
+        return cost;
+    }
+
+    public static int getCost() {
+        int current = cost;
+        return current != 0 ? current : calibrate();
+    }
+
+    public static String hash(String password) {
+        return BCrypt.hashpw(password, BCrypt.gensalt(getCost()));
+    }
+
+    public static boolean matches(String password, String hash) {
+        try {
+            return BCrypt.checkpw(password, hash);
+        } catch (IllegalArgumentException e) {
+            // Not a BCrypt hash
+            return false;
+        }
+    }
+
+    // True when a stored hash is weaker than this host's calibrated cost. A slower
+    // terminal calibrating lower must not downgrade hashes made elsewhere.
+    public static boolean needsRehash(String hash) {
+        return costOf(hash) < getCost();
+    }
+
+    // "$2a$10$..." -> 10; -1 when the hash is not in BCrypt format
+    static int costOf(String hash) {
+        if (hash == null || hash.length() < 7 || hash.charAt(0) != '$' || hash.charAt(6) != '$') {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(hash.substring(4, 6));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package util;
+
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.stage.Stage;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Switches screens inside the one primary Stage.
+ * <p>
+ * Each view's FXML is parsed once; the node graph and its controller are kept
+ * and put back as the scene root on later visits, so switching screens costs
+ * a root swap instead of an FXML parse plus a new window. Controllers that
+ * implement {@link Refreshable} reload their data when shown again.
+ * <p>
+ * Must be used on the FX thread.
+ */
+public final class SceneRouter {
+
+    public enum View {
+        LOGIN("/view/login_form.fxml", "Clothify Store - Login"),
+        DASHBOARD("/view/dashboard_form.fxml", "Clothify Store - Dashboard"),
+        POS("/view/pos_form.fxml", "Clothify Store - POS"),
+        PRODUCTS("/view/products_form.fxml", "Clothify Store - Products"),
+        ORDERS("/view/orders_form.fxml", "Clothify Store - Orders"),
+        REPORTS("/view/reports_form.fxml", "Clothify Store - Reports"),
+        SUPPLIERS("/view/suppliers_form.fxml", "Clothify Store - Suppliers"),
+        EMPLOYEES("/view/employees_form.fxml", "Clothify Store - Employees"),
+        INVENTORY("/view/inventory_form.fxml", "Clothify Store - Inventory");
+
+        private final String fxml;
+        private final String title;
+
+        View(String fxml, String title) {
+            this.fxml = fxml;
+            this.title = title;
+        }
+    }
+
+    /**
+     * Implemented by controllers whose screen shows data that may have changed
+     * while another screen was open.
+     */
+    public interface Refreshable {
+        // Called on the FX thread each time a cached view is shown again
+        void refresh();
+    }
+
+    // The login window keeps its original fixed size; every other screen is maximized
+    private static final double LOGIN_WIDTH = 1000;
+    private static final double LOGIN_HEIGHT = 700;
+    // Parsed once for the one Scene instead of per cell via setStyle
+    private static final String TABLE_STYLESHEET = "/view/tables.css";
+
+    private static final Map<View, Loaded> cache = new EnumMap<>(View.class);
+
+    private static Stage stage;
+    private static View current;
+
+    private record Loaded(Parent root, Object controller) {
+    }
+
+    private SceneRouter() {
+    }
+
+    public static void init(Stage primaryStage) {
+        stage = primaryStage;
+    }
+
+    /**
+     * Shows {@code view} in the primary Stage and returns its controller.
+     *
+     * @throws IOException if the view is shown for the first time and its
+     *                     FXML cannot be loaded
+     */
+    @SuppressWarnings("unchecked")
+    public static <C> C show(View view) throws IOException {
+        Loaded loaded = cache.get(view);
+        boolean cached = loaded != null;
+        if (!cached) {
+            FXMLLoader loader = new FXMLLoader(SceneRouter.class.getResource(view.fxml));
+            Parent root = loader.load();
+            loaded = new Loaded(root, loader.getController());
+            cache.put(view, loaded);
+        }
+
+        Scene scene = stage.getScene();
+        if (scene == null) {
+            scene = new Scene(loaded.root, LOGIN_WIDTH, LOGIN_HEIGHT);
+            scene.getStylesheets().add(SceneRouter.class.getResource(TABLE_STYLESHEET).toExternalForm());
+            stage.setScene(scene);
+        } else if (scene.getRoot() != loaded.root) {
+            scene.setRoot(loaded.root);
+        }
+        applyWindowMode(view);
+        stage.setTitle(view.title);
+        current = view;
+
+        if (cached && loaded.controller instanceof Refreshable refreshable) {
+            refreshable.refresh();
+        }
+        if (!stage.isShowing()) {
+            stage.show();
+        }
+        return (C) loaded.controller;
+    }
+
+    /**
+     * Drops every cached view except the one on screen, e.g. on logout so the
+     * next user starts from freshly built screens.
+     */
+    public static void clearCache() {
+        cache.keySet().removeIf(view -> view != current);
+    }
+
+    private static void applyWindowMode(View view) {
+        if (view == View.LOGIN) {
+            stage.setMaximized(false);
+            stage.setResizable(false);
+            if (stage.isShowing()) {
+                // Window size includes decorations; keep the scene itself at the login size
+                Scene scene = stage.getScene();
+                stage.setWidth(LOGIN_WIDTH + stage.getWidth() - scene.getWidth());
+                stage.setHeight(LOGIN_HEIGHT + stage.getHeight() - scene.getHeight());
+            }
+            stage.centerOnScreen();
+        } else {
+            stage.setResizable(true);
+            stage.setMaximized(true);
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package util;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Applies the numbered SQL scripts listed in db/migration/migrations.txt that
+ * are not yet recorded in the schema_version table. Runs once at startup,
+ * before Hibernate validates the schema.
+ */
+public class SchemaMigrator {
+
+    private static final String MIGRATION_DIR = "db/migration/";
+    private static final String MIGRATION_INDEX = MIGRATION_DIR + "migrations.txt";
+    private static final String LOCK_NAME = "clothify_schema_migration";
+    private static final int LOCK_TIMEOUT_SECONDS = 60;
+
+    // MySQL error codes that mean an idempotent statement was already applied
+    private static final int ER_TABLE_EXISTS = 1050;
+    private static final int ER_DUP_FIELDNAME = 1060;
+    private static final int ER_DUP_KEYNAME = 1061;
+
+    private static final String CREATE_VERSION_TABLE =
+            "CREATE TABLE IF NOT EXISTS schema_version (" +
+            "version INT NOT NULL PRIMARY KEY, " +
+            "description VARCHAR(200) NOT NULL, " +
+            "script VARCHAR(200) NOT NULL, " +
+            "checksum BIGINT NOT NULL, " +
+            "installed_on DATETIME NOT NULL, " +
+            "execution_ms INT NOT NULL) ENGINE = InnoDB";
+
+    public static void migrate(DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(true);
+            // Serialises startups of several app instances against one database
+            acquireLock(connection);
+            try {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute(CREATE_VERSION_TABLE);
+                }
+                Map<Integer, Long> applied = loadApplied(connection);
+                int count = 0;
+                for (String script : readIndex()) {
+                    if (apply(connection, script, applied)) {
+                        count++;
+                    }
+                }
+                System.out.println(count == 0
+                        ? "✅ Schema is up to date"
+                        : "✅ Applied " + count + " schema migration(s)");
+            } finally {
+                releaseLock(connection);
+            }
+        } catch (SQLException | IOException e) {
+            throw new IllegalStateException("Schema migration failed: " + e.getMessage(), e);
+        }
+    }
+
+    private static boolean apply(Connection connection, String script, Map<Integer, Long> applied)
+            throws SQLException, IOException {
+        int version = parseVersion(script);
+        String sql = readResource(MIGRATION_DIR + script);
+        List<String> statements = splitStatements(sql);
+        long checksum = checksum(statements);
+
+        Long appliedChecksum = applied.get(version);
+        if (appliedChecksum != null) {
+            if (appliedChecksum == checksum) {
+                return false;
+            }
+            throw new IllegalStateException("Migration " + script + " was changed after it was applied");
+        }
+
+        System.out.println("Applying migration " + script + "...");
+        long start = System.nanoTime();
+        try (Statement statement = connection.createStatement()) {
+            for (String sqlStatement : statements) {
+                try {
+                    statement.execute(sqlStatement);
+                } catch (SQLException e) {
+                    if (!isAlreadyApplied(e)) {
+                        throw new SQLException(script + ": " + e.getMessage(), e.getSQLState(), e.getErrorCode(), e);
+                    }
+                }
+            }
+        }
+        int elapsedMs = (int) ((System.nanoTime() - start) / 1_000_000);
+
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO schema_version (version, description, script, checksum, installed_on, execution_ms) " +
+                "VALUES (?, ?, ?, ?, ?, ?)")) {
+            insert.setInt(1, version);
+            insert.setString(2, parseDescription(script));
+            insert.setString(3, script);
+            insert.setLong(4, checksum);
+            insert.setTimestamp(5, new Timestamp(System.currentTimeMillis()));
+            insert.setInt(6, elapsedMs);
+            insert.executeUpdate();
+        }
+        return true;
+    }
+
+    private static boolean isAlreadyApplied(SQLException e) {
+        int code = e.getErrorCode();
+        return code == ER_TABLE_EXISTS || code == ER_DUP_FIELDNAME || code == ER_DUP_KEYNAME;
+    }
+
+    private static Map<Integer, Long> loadApplied(Connection connection) throws SQLException {
+        Map<Integer, Long> applied = new HashMap<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT version, checksum FROM schema_version")) {
+            while (rs.next()) {
+                applied.put(rs.getInt(1), rs.getLong(2));
+            }
+        }
+        return applied;
+    }
+
+    private static List<String> readIndex() throws IOException {
+        List<String> scripts = new ArrayList<>();
+        for (String line : readResource(MIGRATION_INDEX).split("\\R")) {
+            String name = line.trim();
+            if (!name.isEmpty() && !name.startsWith("#")) {
+                scripts.add(name);
+            }
+        }
+        return scripts;
+    }
+
+    // Scripts contain plain DDL/DML only, so a semicolon at the end of a line
+    // always terminates a statement
+    private static List<String> splitStatements(String sql) {
+        List<String> statements = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        for (String line : sql.split("\\R")) {
+            String trimmed = line.trim();
+            if (trimmed.isEmpty() || trimmed.startsWith("--")) {
+                continue;
+            }
+            current.append(line).append('\n');
+            if (trimmed.endsWith(";")) {
+                String statement = current.toString().trim();
+                statements.add(statement.substring(0, statement.length() - 1));
+                current.setLength(0);
+            }
+        }
+        if (!current.toString().isBlank()) {
+            statements.add(current.toString().trim());
+        }
+        return statements;
+    }
+
+    private static int parseVersion(String script) {
+        int separator = script.indexOf("__");
+        if (!script.startsWith("V") || separator < 2) {
+            throw new IllegalStateException("Migration name must look like V<n>__<description>.sql: " + script);
+        }
+        return Integer.parseInt(script.substring(1, separator));
+    }
+
+    private static String parseDescription(String script) {
+        String description = script.substring(script.indexOf("__") + 2);
+        if (description.endsWith(".sql")) {
+            description = description.substring(0, description.length() - 4);
+        }
+        return description.replace('_', ' ');
+    }
+
+    private static String readResource(String path) throws IOException {
+        try (InputStream in = SchemaMigrator.class.getClassLoader().getResourceAsStream(path)) {
+            if (in == null) {
+                throw new IOException("Missing migration resource " + path);
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    // Covers only the statements that run, so correcting a comment is not an edit
+    private static long checksum(List<String> statements) {
+        CRC32 crc = new CRC32();
+        // splitStatements already joined lines with '\n', so Windows line endings do not count either
+        for (String statement : statements) {
+            crc.update(statement.getBytes(StandardCharsets.UTF_8));
+            crc.update(';');
+        }
+        return crc.getValue();
+    }
+
+    private static void acquireLock(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT GET_LOCK(?, ?)")) {
+            statement.setString(1, LOCK_NAME);
+            statement.setInt(2, LOCK_TIMEOUT_SECONDS);
+            try (ResultSet rs = statement.executeQuery()) {
+                if (!rs.next() || rs.getInt(1) != 1) {
+                    throw new SQLException("Timed out waiting for the schema migration lock");
+                }
+            }
+        }
+    }
+
+    private static void releaseLock(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+            statement.setString(1, LOCK_NAME);
+            statement.executeQuery().close();
+        }
+    }
+}
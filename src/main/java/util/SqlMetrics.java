@@ -0,0 +1,218 @@
+package util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-statement latency histograms and per-UI-action statement counts.
+ * Fed by {@link SqlStatementInspector} (statements Hibernate issues) and
+ * {@link TimingDataSource} (JDBC execution time). Statements slower than the
+ * threshold are logged together with the action that issued them.
+ */
+public class SqlMetrics {
+
+    private static final SqlMetrics INSTANCE = new SqlMetrics();
+
+    // Histogram bucket upper bounds; the last bucket is unbounded
+    private static final long[] BUCKET_BOUNDS_MS = {1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 2000};
+    private static final int MAX_TRACKED_STATEMENTS = 500;
+    private static final int MAX_LOGGED_SQL_LENGTH = 500;
+    private static final String OTHER_STATEMENTS = "(other)";
+
+    private final ConcurrentMap<String, StatementStats> statements = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, ActionStats> actions = new ConcurrentHashMap<>();
+    private volatile long slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(200);
+
+    private SqlMetrics() {
+    }
+
+    public static SqlMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    public void setSlowThresholdMillis(long millis) {
+        slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+    public long getSlowThresholdMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(slowThresholdNanos);
+    }
+
+    void recordPrepared() {
+        actionStats(ActionTracker.current()).statements.increment();
+    }
+
+    void recordExecution(String sql, long elapsedNanos) {
+        String action = ActionTracker.current();
+        String key = normalize(sql);
+        statementStats(key).record(elapsedNanos);
+
+        ActionStats stats = actionStats(action);
+        stats.executions.increment();
+        stats.totalNanos.add(elapsedNanos);
+
+        if (elapsedNanos >= slowThresholdNanos) {
+            stats.slow.increment();
+            System.err.printf("🐢 Slow SQL (%d ms) from %s: %s%n",
+                    TimeUnit.NANOSECONDS.toMillis(elapsedNanos), action, truncate(key));
+        }
+    }
+
+    public List<StatementStats> getStatementStats() {
+        List<StatementStats> result = new ArrayList<>(statements.values());
+        result.sort(Comparator.comparingLong(StatementStats::getTotalNanos).reversed());
+        return result;
+    }
+
+    public List<ActionStats> getActionStats() {
+        List<ActionStats> result = new ArrayList<>(actions.values());
+        result.sort(Comparator.comparingLong(ActionStats::getStatementCount).reversed());
+        return result;
+    }
+
+    public void reset() {
+        statements.clear();
+        actions.clear();
+    }
+
+    private StatementStats statementStats(String key) {
+        StatementStats stats = statements.get(key);
+        if (stats != null) {
+            return stats;
+        }
+        // Cap the number of distinct shapes so ad-hoc SQL cannot grow the map forever
+        if (statements.size() >= MAX_TRACKED_STATEMENTS) {
+            key = OTHER_STATEMENTS;
+        }
+        return statements.computeIfAbsent(key, StatementStats::new);
+    }
+
+    private ActionStats actionStats(String action) {
+        return actions.computeIfAbsent(action, ActionStats::new);
+    }
+
+    private static String normalize(String sql) {
+        return sql.strip().replaceAll("\\s+", " ");
+    }
+
+    private static String truncate(String sql) {
+        return sql.length() <= MAX_LOGGED_SQL_LENGTH ? sql : sql.substring(0, MAX_LOGGED_SQL_LENGTH) + "…";
+    }
+
+    public static class StatementStats {
+        private final String sql;
+        private final LongAdder[] buckets = new LongAdder[BUCKET_BOUNDS_MS.length + 1];
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        StatementStats(String sql) {
+            this.sql = sql;
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        void record(long elapsedNanos) {
+            count.increment();
+            totalNanos.add(elapsedNanos);
+            maxNanos.accumulateAndGet(elapsedNanos, Math::max);
+            buckets[bucketOf(TimeUnit.NANOSECONDS.toMillis(elapsedNanos))].increment();
+        }
+
+        private static int bucketOf(long millis) {
+            for (int i = 0; i < BUCKET_BOUNDS_MS.length; i++) {
+                if (millis < BUCKET_BOUNDS_MS[i]) {
+                    return i;
+                }
+            }
+            return BUCKET_BOUNDS_MS.length;
+        }
+
+        public String getSql() {
+            return sql;
+        }
+
+        public long getCount() {
+            return count.sum();
+        }
+
+        public long getTotalNanos() {
+            return totalNanos.sum();
+        }
+
+        public double getAverageMillis() {
+            long n = count.sum();
+            return n == 0 ? 0.0 : totalNanos.sum() / (double) n / 1_000_000;
+        }
+
+        public double getMaxMillis() {
+            return maxNanos.get() / 1_000_000.0;
+        }
+
+        /**
+         * Upper bound of the histogram bucket containing the given percentile
+         * (0-100); the slowest bucket reports the observed maximum instead.
+         */
+        public double getPercentileMillis(double percentile) {
+            long[] counts = new long[buckets.length];
+            long total = 0;
+            for (int i = 0; i < buckets.length; i++) {
+                counts[i] = buckets[i].sum();
+                total += counts[i];
+            }
+            if (total == 0) {
+                return 0.0;
+            }
+            long rank = (long) Math.ceil(total * percentile / 100.0);
+            long seen = 0;
+            for (int i = 0; i < BUCKET_BOUNDS_MS.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return BUCKET_BOUNDS_MS[i];
+                }
+            }
+            return getMaxMillis();
+        }
+    }
+
+    public static class ActionStats {
+        private final String action;
+        private final LongAdder statements = new LongAdder();
+        private final LongAdder executions = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAdder slow = new LongAdder();
+
+        ActionStats(String action) {
+            this.action = action;
+        }
+
+        public String getAction() {
+            return action;
+        }
+
+        // Statements issued through Hibernate
+        public long getStatementCount() {
+            return statements.sum();
+        }
+
+        // JDBC executions, including plain JDBC work and batches
+        public long getExecutionCount() {
+            return executions.sum();
+        }
+
+        public double getTotalMillis() {
+            return totalNanos.sum() / 1_000_000.0;
+        }
+
+        public long getSlowCount() {
+            return slow.sum();
+        }
+    }
+}
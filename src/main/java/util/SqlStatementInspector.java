@@ -0,0 +1,18 @@
+package util;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts every statement Hibernate prepares against the UI action that
+ * triggered it. The SQL itself is passed through unchanged.
+ */
+public class SqlStatementInspector implements StatementInspector {
+
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    public String inspect(String sql) {
+        SqlMetrics.getInstance().recordPrepared();
+        return sql;
+    }
+}
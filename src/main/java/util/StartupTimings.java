@@ -0,0 +1,60 @@
+package util;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Records how long each boot phase takes and when it finished, measured from
+ * JVM start, so time-to-first-frame and time-to-ready can be tracked across
+ * releases. Phases may be recorded from any thread.
+ */
+public final class StartupTimings {
+
+    private static final long JVM_START_MILLIS = ManagementFactory.getRuntimeMXBean().getStartTime();
+
+    private static final Map<String, Long> finishedAt = new LinkedHashMap<>();
+
+    private StartupTimings() {
+    }
+
+    // Marks a point in time, e.g. "first frame"
+    public static void mark(String phase) {
+        long at = sinceLaunch();
+        synchronized (finishedAt) {
+            finishedAt.put(phase, at);
+        }
+        System.out.printf("⏱ %-20s at %6d ms%n", phase, at);
+    }
+
+    public static <T> T time(String phase, Supplier<T> work) {
+        long start = System.nanoTime();
+        T result = work.get();
+        long took = (System.nanoTime() - start) / 1_000_000;
+        long at = sinceLaunch();
+        synchronized (finishedAt) {
+            finishedAt.put(phase, at);
+        }
+        System.out.printf("⏱ %-20s at %6d ms (took %d ms on %s)%n", phase, at, took, Thread.currentThread().getName());
+        return result;
+    }
+
+    public static void time(String phase, Runnable work) {
+        time(phase, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    // Phase name to milliseconds after launch, in the order phases finished
+    public static Map<String, Long> snapshot() {
+        synchronized (finishedAt) {
+            return new LinkedHashMap<>(finishedAt);
+        }
+    }
+
+    private static long sinceLaunch() {
+        return System.currentTimeMillis() - JVM_START_MILLIS;
+    }
+}
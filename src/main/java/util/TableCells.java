@@ -0,0 +1,217 @@
+package util;
+
+import javafx.css.PseudoClass;
+import javafx.scene.control.TableCell;
+import javafx.scene.control.TableColumn;
+import javafx.util.Callback;
+
+import java.util.Locale;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+
+/**
+ * Reusable table cell factories for money, numbers and stock levels.
+ * <p>
+ * Cells are recycled on every scroll frame, so these write digits into a
+ * per-cell StringBuilder instead of going through String.format, skip
+ * setText when the value has not changed, and switch colours by toggling CSS
+ * pseudo-classes (see {@code /view/tables.css}) rather than parsing an inline
+ * style each time. Must be used on the FX thread.
+ */
+public final class TableCells {
+
+    public static final int LOW_STOCK = 10;
+    public static final int MEDIUM_STOCK = 20;
+
+    private static final PseudoClass OUT = PseudoClass.getPseudoClass("out");
+    private static final PseudoClass LOW = PseudoClass.getPseudoClass("low");
+    private static final PseudoClass MEDIUM = PseudoClass.getPseudoClass("medium");
+    private static final PseudoClass HIGH = PseudoClass.getPseudoClass("high");
+
+    private static final long[] POWERS_OF_TEN = {1, 10, 100, 1_000, 10_000};
+    static final int MAX_DIGITS = 4; // last index of POWERS_OF_TEN
+    // Below this a double resolves well past MAX_DIGITS decimals; larger values go through the Formatter
+    private static final double MAX_FAST_VALUE = 1e9;
+
+    private TableCells() {
+    }
+
+    // "$1234.50"
+    public static <S> Callback<TableColumn<S, Double>, TableCell<S, Double>> currency() {
+        return col -> new NumberCell<>("$", 2, "", 1);
+    }
+
+    public static <S> Callback<TableColumn<S, Double>, TableCell<S, Double>> decimal(int digits) {
+        if (digits < 0 || digits > MAX_DIGITS) {
+            throw new IllegalArgumentException("digits must be between 0 and " + MAX_DIGITS + ": " + digits);
+        }
+        return col -> new NumberCell<>("", digits, "", 1);
+    }
+
+    // 0.125 -> "12.5%"
+    public static <S> Callback<TableColumn<S, Double>, TableCell<S, Double>> percent() {
+        return col -> new NumberCell<>("", 1, "%", 100);
+    }
+
+    /**
+     * A currency value derived from the whole row, e.g. price times quantity,
+     * for columns that have no backing property.
+     */
+    public static <S> Callback<TableColumn<S, Void>, TableCell<S, Void>> currency(ToDoubleFunction<S> value) {
+        return col -> new TableCell<>() {
+            private final Formatted text = new Formatted(this, "$", 2, "");
+
+            {
+                getStyleClass().add("value-cell");
+            }
+
+            @Override
+            protected void updateItem(Void item, boolean empty) {
+                super.updateItem(item, empty);
+                S row = empty || getTableRow() == null ? null : getTableRow().getItem();
+                if (row == null) {
+                    text.clear();
+                } else {
+                    text.show(value.applyAsDouble(row));
+                }
+            }
+        };
+    }
+
+    // Quantity coloured :low below 10, :medium below 20, :high otherwise
+    public static <S> Callback<TableColumn<S, Integer>, TableCell<S, Integer>> stockLevel() {
+        return col -> new TableCell<>() {
+            private final Formatted text = new Formatted(this, "", 0, "");
+
+            {
+                getStyleClass().add("stock-cell");
+            }
+
+            @Override
+            protected void updateItem(Integer stock, boolean empty) {
+                super.updateItem(stock, empty);
+                boolean filled = !empty && stock != null;
+                if (filled) {
+                    text.show(stock);
+                } else {
+                    text.clear();
+                }
+                pseudoClassStateChanged(LOW, filled && stock < LOW_STOCK);
+                pseudoClassStateChanged(MEDIUM, filled && stock >= LOW_STOCK && stock < MEDIUM_STOCK);
+                pseudoClassStateChanged(HIGH, filled && stock >= MEDIUM_STOCK);
+            }
+        };
+    }
+
+    // "Out of Stock" / "Low Stock" / "In Stock" from the row's quantity
+    public static <S> Callback<TableColumn<S, Void>, TableCell<S, Void>> stockStatus(ToIntFunction<S> quantity) {
+        return col -> new TableCell<>() {
+            {
+                getStyleClass().add("stock-status-cell");
+            }
+
+            @Override
+            protected void updateItem(Void item, boolean empty) {
+                super.updateItem(item, empty);
+                S row = empty || getTableRow() == null ? null : getTableRow().getItem();
+                int qty = row == null ? -1 : quantity.applyAsInt(row);
+                // Literals, so no String is built per update
+                setText(row == null ? null : qty == 0 ? "Out of Stock" : qty < LOW_STOCK ? "Low Stock" : "In Stock");
+                pseudoClassStateChanged(OUT, qty == 0);
+                pseudoClassStateChanged(LOW, qty > 0 && qty < LOW_STOCK);
+                pseudoClassStateChanged(HIGH, qty >= LOW_STOCK);
+            }
+        };
+    }
+
+    private static class NumberCell<S> extends TableCell<S, Double> {
+
+        private final Formatted text;
+        private final double multiplier;
+
+        NumberCell(String prefix, int digits, String suffix, double multiplier) {
+            this.text = new Formatted(this, prefix, digits, suffix);
+            this.multiplier = multiplier;
+        }
+
+        @Override
+        protected void updateItem(Double value, boolean empty) {
+            super.updateItem(value, empty);
+            if (empty || value == null) {
+                text.clear();
+            } else {
+                text.show(value * multiplier);
+            }
+        }
+    }
+
+    /**
+     * Fixed-point text for one cell, without a Formatter per call.
+     */
+    private static final class Formatted {
+
+        private final TableCell<?, ?> cell;
+        private final String prefix;
+        private final int digits;
+        private final String suffix;
+        private final StringBuilder buffer = new StringBuilder(24);
+        private double shown = Double.NaN;
+
+        Formatted(TableCell<?, ?> cell, String prefix, int digits, String suffix) {
+            this.cell = cell;
+            this.prefix = prefix;
+            this.digits = digits;
+            this.suffix = suffix;
+        }
+
+        void show(double value) {
+            if (cell.getText() != null && Double.compare(value, shown) == 0) {
+                return;
+            }
+            buffer.setLength(0);
+            buffer.append(prefix);
+            appendFixed(buffer, value, digits);
+            buffer.append(suffix);
+            cell.setText(buffer.toString());
+            shown = value;
+        }
+
+        void clear() {
+            cell.setText(null);
+            shown = Double.NaN;
+        }
+    }
+
+    /**
+     * Appends {@code value} with {@code digits} decimals, giving the same text
+     * as {@code String.format(Locale.ROOT, "%.Nf", value)}: like the Formatter,
+     * halves are rounded away from zero in the shortest decimal form of the
+     * double, so 1.005 shows as "1.01".
+     */
+    static void appendFixed(StringBuilder out, double value, int digits) {
+        double abs = Math.abs(value);
+        if (!(abs < MAX_FAST_VALUE)) {
+            // NaN, infinities and huge values; rare enough to allocate
+            out.append(String.format(Locale.ROOT, "%." + digits + "f", value));
+            return;
+        }
+        long scale = POWERS_OF_TEN[digits];
+        long floor = (long) (abs * scale);
+        // Compare with the double closest to the decimal halfway point rather than rounding
+        // abs * scale: 1.005 is stored just below 1.005, yet that is the double for "1.005"
+        double halfway = (floor + 0.5) / scale;
+        long scaled = abs >= halfway ? floor + 1 : floor;
+        if (Math.copySign(1.0, value) < 0) {
+            out.append('-');
+        }
+        out.append(scaled / scale);
+        if (digits > 0) {
+            out.append('.');
+            long fraction = scaled % scale;
+            for (long pad = scale / 10; pad > fraction && pad > 1; pad /= 10) {
+                out.append('0');
+            }
+            out.append(fraction);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package util;
+
+import javafx.beans.property.ObjectProperty;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Patches individual rows of a table's item list, matched by id, so a change
+ * to one record updates one row instead of replacing the whole list. Must be
+ * used on the FX thread when the list backs a visible table.
+ * <p>
+ * Keeps an id to row index map, so replacing a shown row (the common case, one
+ * per sale line) and appending a new one do not scan the list. Anything that
+ * shifts rows (removals, inserts, sorting, a new item list) marks the map
+ * stale and it is rebuilt once on the next lookup.
+ */
+public final class TableRows<T> {
+
+    private final Function<? super T, ?> idOf;
+    private final Map<Object, Integer> positions = new HashMap<>();
+    private final ListChangeListener<T> changeListener = this::onChanged;
+    private ObservableList<T> rows;
+    private boolean stale = true;
+
+    private TableRows(Function<? super T, ?> idOf) {
+        this.idOf = idOf;
+    }
+
+    // Follows the control's items property, e.g. TableView.itemsProperty(), across setItems calls
+    public static <T> TableRows<T> of(ObjectProperty<ObservableList<T>> items, Function<? super T, ?> idOf) {
+        TableRows<T> tableRows = new TableRows<>(idOf);
+        tableRows.attach(items.get());
+        // Not a ChangeListener: that compares lists with equals and skips a new list with the same rows
+        items.addListener(obs -> tableRows.attach(items.get()));
+        return tableRows;
+    }
+
+    public static <T> TableRows<T> of(ObservableList<T> rows, Function<? super T, ?> idOf) {
+        TableRows<T> tableRows = new TableRows<>(idOf);
+        tableRows.attach(rows);
+        return tableRows;
+    }
+
+    // Swaps in the new version of a row that is already shown; false if it is not
+    public boolean replace(T row) {
+        int index = indexOf(idOf.apply(row));
+        if (index < 0) {
+            return false;
+        }
+        rows.set(index, row);
+        return true;
+    }
+
+    public void upsert(T row) {
+        if (!replace(row)) {
+            rows.add(row);
+        }
+    }
+
+    public boolean remove(Object id) {
+        int index = indexOf(id);
+        if (index < 0) {
+            return false;
+        }
+        rows.remove(index);
+        return true;
+    }
+
+    private void attach(ObservableList<T> next) {
+        if (rows != null) {
+            rows.removeListener(changeListener);
+        }
+        rows = next;
+        if (rows != null) {
+            rows.addListener(changeListener);
+        }
+        stale = true;
+    }
+
+    private int indexOf(Object id) {
+        if (rows == null) {
+            return -1;
+        }
+        if (stale) {
+            reindex();
+        }
+        Integer index = positions.get(id);
+        if (index == null) {
+            return -1;
+        }
+        // Guards against a change the listener could not see, e.g. a row object mutated in place
+        if (index >= rows.size() || !Objects.equals(idOf.apply(rows.get(index)), id)) {
+            reindex();
+            index = positions.get(id);
+        }
+        return index == null ? -1 : index;
+    }
+
+    private void reindex() {
+        positions.clear();
+        for (int i = 0; i < rows.size(); i++) {
+            positions.putIfAbsent(idOf.apply(rows.get(i)), i);
+        }
+        stale = false;
+    }
+
+    private void onChanged(ListChangeListener.Change<? extends T> change) {
+        while (change.next() && !stale) {
+            int from = change.getFrom();
+            if (change.wasReplaced() && change.getAddedSize() == change.getRemovedSize()) {
+                // Same positions, new objects
+                forget(change.getRemoved(), from);
+                remember(from, change.getTo());
+            } else if (change.wasAdded() && !change.wasRemoved() && change.getTo() == rows.size()) {
+                remember(from, change.getTo());
+            } else {
+                stale = true;
+            }
+        }
+    }
+
+    private void forget(List<? extends T> removed, int from) {
+        for (int i = 0; i < removed.size(); i++) {
+            positions.remove(idOf.apply(removed.get(i)), from + i);
+        }
+    }
+
+    private void remember(int from, int to) {
+        for (int i = from; i < to; i++) {
+            positions.putIfAbsent(idOf.apply(rows.get(i)), i);
+        }
+    }
+}
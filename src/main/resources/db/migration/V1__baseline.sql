@@ -0,0 +1,94 @@
+-- Baseline for new databases. Every statement is IF NOT EXISTS: on a
+-- database created by hbm2ddl=update the existing tables are left as they
+-- are and only the missing ones are created. Columns those older tables lack
+-- are added by later scripts (products.barcode in V5).
+
+CREATE TABLE IF NOT EXISTS users (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    username VARCHAR(50) NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    fullName VARCHAR(100) NOT NULL,
+    role VARCHAR(20) NOT NULL,
+    active BIT NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT UKr43af9ap4edm43mmtq01oddj6 UNIQUE (username)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS id_generators (
+    gen_name VARCHAR(255) NOT NULL,
+    gen_value BIGINT,
+    PRIMARY KEY (gen_name)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS products (
+    id BIGINT NOT NULL,
+    name VARCHAR(100) NOT NULL,
+    category VARCHAR(50) NOT NULL,
+    price FLOAT(53) NOT NULL,
+    quantity INTEGER NOT NULL,
+    supplier VARCHAR(100),
+    barcode VARCHAR(32),
+    PRIMARY KEY (id),
+    CONSTRAINT UKqfr8vf85k3q1xinifvsl1eynf UNIQUE (barcode)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS orders (
+    id BIGINT NOT NULL,
+    orderDate DATETIME(6) NOT NULL,
+    totalAmount FLOAT(53) NOT NULL,
+    customerName VARCHAR(100),
+    status VARCHAR(20),
+    PRIMARY KEY (id),
+    INDEX idx_orders_order_date (orderDate),
+    INDEX idx_orders_status_date (status, orderDate),
+    INDEX idx_orders_customer_date (customerName, orderDate)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS order_items (
+    id BIGINT NOT NULL,
+    order_id BIGINT NOT NULL,
+    productId BIGINT NOT NULL,
+    quantity INTEGER NOT NULL,
+    unitPrice FLOAT(53) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT FKbioxgbv59vetrxe0ejfubep1w FOREIGN KEY (order_id) REFERENCES orders (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS sales_rollup_hourly (
+    bucketStart DATETIME(6) NOT NULL,
+    orderCount BIGINT NOT NULL,
+    totalSales FLOAT(53) NOT NULL,
+    minSale FLOAT(53) NOT NULL,
+    maxSale FLOAT(53) NOT NULL,
+    PRIMARY KEY (bucketStart)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS sales_rollup_daily (
+    bucketDate DATE NOT NULL,
+    orderCount BIGINT NOT NULL,
+    totalSales FLOAT(53) NOT NULL,
+    minSale FLOAT(53) NOT NULL,
+    maxSale FLOAT(53) NOT NULL,
+    PRIMARY KEY (bucketDate)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS suppliers (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    name VARCHAR(100) NOT NULL,
+    email VARCHAR(100),
+    phone VARCHAR(20),
+    address VARCHAR(200),
+    active BIT NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS employees (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    name VARCHAR(100) NOT NULL,
+    email VARCHAR(100),
+    phone VARCHAR(20),
+    position VARCHAR(50),
+    salary FLOAT(53),
+    active BIT NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
@@ -0,0 +1,15 @@
+-- Product search/filter columns and the low-stock scan. The orders indexes
+-- are repeated for databases created by hbm2ddl before they were mapped;
+-- where they already exist the duplicate-name error is skipped.
+
+CREATE INDEX idx_products_name ON products (name);
+
+CREATE INDEX idx_products_category ON products (category);
+
+CREATE INDEX idx_products_quantity ON products (quantity);
+
+CREATE INDEX idx_orders_order_date ON orders (orderDate);
+
+CREATE INDEX idx_orders_status_date ON orders (status, orderDate);
+
+CREATE INDEX idx_orders_customer_date ON orders (customerName, orderDate);
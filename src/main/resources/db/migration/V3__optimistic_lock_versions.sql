@@ -0,0 +1,9 @@
+-- Version columns for optimistic locking on the entities edited from the UI
+
+ALTER TABLE products ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE suppliers ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE employees ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE users ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
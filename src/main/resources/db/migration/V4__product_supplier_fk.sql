@@ -0,0 +1,21 @@
+-- Replaces the free-text products.supplier with a foreign key to suppliers.
+-- Names with no matching supplier are created as suppliers first, so every
+-- product keeps its supplier.
+
+ALTER TABLE products ADD COLUMN supplier_id BIGINT;
+
+INSERT INTO suppliers (name, active, version)
+SELECT DISTINCT TRIM(p.supplier), 1, 0
+FROM products p
+WHERE p.supplier IS NOT NULL AND TRIM(p.supplier) <> ''
+  AND NOT EXISTS (SELECT 1 FROM suppliers s WHERE s.name = TRIM(p.supplier));
+
+UPDATE products p
+SET p.supplier_id = (SELECT MIN(s.id) FROM suppliers s WHERE s.name = TRIM(p.supplier))
+WHERE p.supplier IS NOT NULL AND p.supplier_id IS NULL;
+
+CREATE INDEX idx_products_supplier_quantity ON products (supplier_id, quantity);
+
+ALTER TABLE products ADD CONSTRAINT fk_products_supplier FOREIGN KEY (supplier_id) REFERENCES suppliers (id);
+
+ALTER TABLE products DROP COLUMN supplier;
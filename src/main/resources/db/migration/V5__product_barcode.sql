@@ -0,0 +1,8 @@
+-- products tables created by hbm2ddl before barcodes were mapped have no
+-- barcode column, and V1 left them as they were. Where the column and its
+-- unique key already exist (V1 created the table) the duplicate errors are
+-- skipped.
+
+ALTER TABLE products ADD COLUMN barcode VARCHAR(32);
+
+CREATE UNIQUE INDEX UKqfr8vf85k3q1xinifvsl1eynf ON products (barcode);
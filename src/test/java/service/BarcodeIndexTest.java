@@ -0,0 +1,84 @@
+package service;
+
+import dto.ProductDto;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class BarcodeIndexTest {
+
+    @Test
+    void leadingZerosAreSignificant() {
+        assertNotEquals(BarcodeIndex.parseCode("12345"), BarcodeIndex.parseCode("0012345"));
+        assertNotEquals(BarcodeIndex.parseCode("0"), BarcodeIndex.parseCode("00"));
+    }
+
+    @Test
+    void rejectsCodesThatAreNotOneToEighteenDigits() {
+        assertEquals(-1, BarcodeIndex.parseCode(null));
+        assertEquals(-1, BarcodeIndex.parseCode(""));
+        assertEquals(-1, BarcodeIndex.parseCode("12a45"));
+        assertEquals(-1, BarcodeIndex.parseCode("-12345"));
+        assertEquals(-1, BarcodeIndex.parseCode("1234567890123456789"));
+    }
+
+    @Test
+    void eighteenDigitCodesStayDistinct() {
+        long nines = BarcodeIndex.parseCode("999999999999999999");
+        long zeros = BarcodeIndex.parseCode("000000000000000000");
+
+        assertNotEquals(-1, nines);
+        assertNotEquals(-1, zeros);
+        assertNotEquals(nines, zeros);
+    }
+
+    @Test
+    void findsProductsWhoseCodesDifferOnlyInLeadingZeros() {
+        BarcodeIndex index = new BarcodeIndex();
+        ProductDto shortCode = product(1L, "12345");
+        ProductDto paddedCode = product(2L, "0012345");
+
+        index.put(shortCode);
+        index.put(paddedCode);
+
+        assertSame(shortCode, index.lookup(BarcodeIndex.parseCode("12345")));
+        assertSame(paddedCode, index.lookup(BarcodeIndex.parseCode("0012345")));
+        assertNull(index.lookup(BarcodeIndex.parseCode("012345")));
+    }
+
+    @Test
+    void changingOrClearingTheBarcodeDropsTheOldCode() {
+        BarcodeIndex index = new BarcodeIndex();
+        index.put(product(1L, "111"));
+
+        ProductDto renumbered = product(1L, "222");
+        index.put(renumbered);
+
+        assertNull(index.lookup(BarcodeIndex.parseCode("111")));
+        assertSame(renumbered, index.lookup(BarcodeIndex.parseCode("222")));
+
+        index.put(product(1L, null));
+
+        assertNull(index.lookup(BarcodeIndex.parseCode("222")));
+    }
+
+    @Test
+    void removeDropsTheCodeAndReusesTheSlot() {
+        BarcodeIndex index = new BarcodeIndex();
+        index.put(product(1L, "111"));
+        index.remove(1L);
+
+        ProductDto next = product(2L, "222");
+        index.put(next);
+
+        assertNull(index.lookup(BarcodeIndex.parseCode("111")));
+        assertSame(next, index.lookup(BarcodeIndex.parseCode("222")));
+    }
+
+    private static ProductDto product(Long id, String barcode) {
+        return new ProductDto(id, "Product " + id, "Test", 1.0, 1, null, null, barcode, 0L);
+    }
+}
@@ -0,0 +1,118 @@
+package util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LongIntHashMapTest {
+
+    private static final int MISSING = -1;
+
+    @Test
+    void returnsMissingValueForUnknownKeys() {
+        LongIntHashMap map = new LongIntHashMap(4, MISSING);
+
+        assertEquals(MISSING, map.get(42));
+        assertEquals(MISSING, map.remove(42));
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    void putOverwritesExistingKey() {
+        LongIntHashMap map = new LongIntHashMap(4, MISSING);
+
+        map.put(7, 1);
+        map.put(7, 2);
+
+        assertEquals(2, map.get(7));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    void storesZeroKeyOutOfLine() {
+        LongIntHashMap map = new LongIntHashMap(4, MISSING);
+
+        map.put(0, 5);
+        map.put(1, 6);
+
+        assertEquals(5, map.get(0));
+        assertEquals(2, map.size());
+        assertEquals(5, map.remove(0));
+        assertEquals(MISSING, map.get(0));
+        assertEquals(6, map.get(1));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    void growsPastInitialCapacity() {
+        LongIntHashMap map = new LongIntHashMap(4, MISSING);
+
+        for (int i = 1; i <= 10_000; i++) {
+            map.put(i * 31L, i);
+        }
+
+        assertEquals(10_000, map.size());
+        for (int i = 1; i <= 10_000; i++) {
+            assertEquals(i, map.get(i * 31L));
+        }
+    }
+
+    @Test
+    void removeKeepsLaterKeysInProbeChainReachable() {
+        // Half full without growing, so probe chains are long and wrap around the table
+        LongIntHashMap map = new LongIntHashMap(64, MISSING);
+        for (int i = 1; i <= 64; i++) {
+            map.put(i, i);
+        }
+
+        for (int i = 2; i <= 64; i += 2) {
+            assertEquals(i, map.remove(i));
+        }
+
+        assertEquals(32, map.size());
+        for (int i = 1; i <= 64; i++) {
+            assertEquals(i % 2 == 1 ? i : MISSING, map.get(i));
+        }
+    }
+
+    @Test
+    void matchesHashMapUnderRandomPutsAndRemoves() {
+        Random random = new Random(20240611L);
+        LongIntHashMap map = new LongIntHashMap(8, MISSING);
+        Map<Long, Integer> expected = new HashMap<>();
+
+        for (int step = 0; step < 200_000; step++) {
+            // A small key range keeps the table dense, so deletions shift entries back often
+            long key = random.nextInt(512) - 16;
+            if (random.nextInt(3) == 0) {
+                Integer previous = expected.remove(key);
+                assertEquals(previous == null ? MISSING : previous, map.remove(key));
+            } else {
+                expected.put(key, step);
+                map.put(key, step);
+            }
+            assertEquals(expected.size(), map.size());
+        }
+
+        for (long key = -16; key < 496; key++) {
+            assertEquals(expected.getOrDefault(key, MISSING), map.get(key));
+        }
+    }
+
+    @Test
+    void clearRemovesEverything() {
+        LongIntHashMap map = new LongIntHashMap(4, MISSING);
+        map.put(0, 1);
+        map.put(3, 2);
+
+        map.clear();
+
+        assertEquals(0, map.size());
+        assertEquals(MISSING, map.get(0));
+        assertEquals(MISSING, map.get(3));
+    }
+}
@@ -0,0 +1,114 @@
+package util;
+
+import dto.ProductDto;
+import entity.Product;
+import repository.ProductRepository;
+import repository.UnitOfWork;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Compares loading the product catalog as managed entities plus DTO copies
+ * against a DTO projection on a StatelessSession. Lives with the tests so it
+ * never ships, and is not picked up by the test run. Run it by hand against a
+ * scratch database:
+ *
+ * <pre>java -cp target/classes:target/test-classes:... util.ProjectionBenchmark [rows] [iterations]</pre>
+ *
+ * Missing rows up to {@code rows} (default 100,000) are inserted with category
+ * {@value #CATEGORY} and deleted again afterwards.
+ */
+public class ProjectionBenchmark {
+
+    private static final String CATEGORY = "BENCHMARK";
+    private static final int WARMUP_ITERATIONS = 3;
+
+    public static void main(String[] args) {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        ProductRepository repository = new ProductRepository();
+
+        int inserted = seed(repository, rows);
+        try {
+            System.out.printf("Catalog rows: %,d (%,d synthetic)%n%n", count(), inserted);
+            run("entities + convertToDto", iterations, ProjectionBenchmark::loadEntities);
+            run("DTO projection (stateless)", iterations, repository::findAllDtos);
+        } finally {
+            cleanUp();
+            HibernateUtil.shutdown();
+        }
+    }
+
+    // Converted inside the session; lazy suppliers are batch-fetched
+    private static List<ProductDto> loadEntities() {
+        return UnitOfWork.read(session -> {
+            List<Product> products = session.createQuery("FROM Product", Product.class).list();
+            List<ProductDto> result = new ArrayList<>(products.size());
+            for (Product product : products) {
+                entity.Supplier supplier = product.getSupplier();
+                result.add(new ProductDto(product.getId(), product.getName(), product.getCategory(),
+                        product.getPrice(), product.getQuantity(),
+                        supplier != null ? supplier.getId() : null, supplier != null ? supplier.getName() : null,
+                        product.getBarcode(), product.getVersion()));
+            }
+            return result;
+        });
+    }
+
+    private static void run(String name, int iterations, Supplier<List<ProductDto>> load) {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            load.get();
+        }
+
+        long[] nanos = new long[iterations];
+        long allocated = 0;
+        for (int i = 0; i < iterations; i++) {
+            long bytesBefore = threads.getCurrentThreadAllocatedBytes();
+            long start = System.nanoTime();
+            load.get();
+            nanos[i] = System.nanoTime() - start;
+            allocated += threads.getCurrentThreadAllocatedBytes() - bytesBefore;
+        }
+
+        Arrays.sort(nanos);
+        System.out.printf("%-28s median %8.1f ms   min %8.1f ms   %8.1f MB allocated/run%n",
+                name, nanos[iterations / 2] / 1e6, nanos[0] / 1e6, allocated / (double) iterations / (1 << 20));
+    }
+
+    private static int seed(ProductRepository repository, int rows) {
+        int missing = (int) Math.max(0, rows - count());
+        List<Product> batch = new ArrayList<>(10_000);
+        for (int i = 0; i < missing; i++) {
+            Product product = new Product();
+            product.setName("Benchmark item " + i);
+            product.setCategory(CATEGORY);
+            product.setPrice(10 + (i % 500) / 10.0);
+            product.setQuantity(i % 200);
+            batch.add(product);
+            if (batch.size() == 10_000) {
+                repository.saveAll(batch);
+                batch.clear();
+            }
+        }
+        repository.saveAll(batch);
+        return missing;
+    }
+
+    private static long count() {
+        return UnitOfWork.read(session ->
+                session.createQuery("SELECT COUNT(p) FROM Product p", Long.class).getSingleResult());
+    }
+
+    private static void cleanUp() {
+        UnitOfWork.run(session -> session.createMutationQuery("DELETE FROM Product WHERE category = :category")
+                .setParameter("category", CATEGORY)
+                .executeUpdate());
+    }
+}
@@ -0,0 +1,65 @@
+package util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Locale;
+import java.util.Random;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TableCellsTest {
+
+    private static final double[] EDGE_VALUES = {
+            0.0, -0.0, 0.5, 1.5, 2.5, -0.004, -0.005, 0.045, 0.125, 0.29,
+            1.005, 2.675, 99.995, 163.075, 1234.565, 999_999_999.99995,
+            1e9, 1e15 + 0.2, Double.MAX_VALUE, Double.MIN_VALUE,
+            Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY
+    };
+
+    static Stream<Arguments> values() {
+        Random random = new Random(7);
+        // Prices and totals as a till produces them, plus arbitrary doubles
+        DoubleStream generated = IntStream.range(0, 400).mapToDouble(i -> {
+            double magnitude = Math.pow(10, i % 10);
+            double value = i % 2 == 0
+                    ? Math.round(random.nextDouble() * magnitude * 1000) / 1000.0
+                    : random.nextDouble() * magnitude;
+            return i % 3 == 0 ? -value : value;
+        });
+        return DoubleStream.concat(DoubleStream.of(EDGE_VALUES), generated)
+                .boxed()
+                .flatMap(value -> IntStream.rangeClosed(0, TableCells.MAX_DIGITS)
+                        .mapToObj(digits -> Arguments.of(value, digits)));
+    }
+
+    @ParameterizedTest
+    @MethodSource("values")
+    void appendFixedMatchesStringFormat(double value, int digits) {
+        StringBuilder out = new StringBuilder();
+        TableCells.appendFixed(out, value, digits);
+
+        assertEquals(String.format(Locale.ROOT, "%." + digits + "f", value), out.toString());
+    }
+
+    @Test
+    void appendFixedAppendsToExistingText() {
+        StringBuilder out = new StringBuilder("$");
+        TableCells.appendFixed(out, 1234.5, 2);
+
+        assertEquals("$1234.50", out.toString());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {-1, TableCells.MAX_DIGITS + 1, 10})
+    void decimalRejectsUnsupportedDigits(int digits) {
+        assertThrows(IllegalArgumentException.class, () -> TableCells.decimal(digits));
+    }
+}